@@ -1,6 +1,7 @@
 package de.voxellabs.voxelclient.client;
 
 import de.voxellabs.voxelclient.client.badge.BadgeApiClient;
+import de.voxellabs.voxelclient.client.badge.BadgeCatalogClient;
 import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiClient;
 import de.voxellabs.voxelclient.client.cosmetics.CosmeticsCatalogClient;
 import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
@@ -15,6 +16,7 @@ import de.voxellabs.voxelclient.client.ui.module.utility.ZoomFeature;
 import de.voxellabs.voxelclient.client.ui.gui.ClientModScreen;
 import de.voxellabs.voxelclient.client.ui.hud.DraggableHudSystem;
 import de.voxellabs.voxelclient.client.utils.HandshakePayload;
+import de.voxellabs.voxelclient.client.utils.PlayerCacheLifecycle;
 import de.voxellabs.voxelclient.client.utils.VoxelClientNetwork;
 import de.voxellabs.voxelclient.client.version.VersionChecker;
 import net.fabricmc.api.ClientModInitializer;
@@ -46,15 +48,25 @@ public class VoxelClientClient implements ClientModInitializer {
         // 1. Konfiguration laden
         VoxelClientConfig.load();
 
+        // 1b. Persistente Cosmetics-/Badge-Caches einlesen (Hintergrund, kein Netzwerk)
+        CosmeticsApiClient.loadPersisted();
+        BadgeApiClient.loadPersisted();
+
+        // 1c. Kataloge von der Platte (synchron, kein Netzwerk) → ab dem ersten Frame verfügbar
+        CosmeticsCatalogClient.loadPersisted();
+        BadgeCatalogClient.loadPersisted();
+
         // 2. Update-Check asynchron
         VersionChecker.checkForUpdate();
 
         // 3. Discord RPC
         DiscordRPCManager.init();
 
-        // 4. Cosmetics-Katalog vorladen (global, einmalig, kein Login nötig)
-        //    Wird von TrailRenderer + CosmeticsFeatureRenderer benötigt um
-        //    Item-IDs in URLs/trail_ids aufzulösen.
+        // 4. Kataloge einmal pro Session mit dem Server abgleichen (ETag/Version, Delta)
+        //    Cosmetics-Katalog: TrailRenderer + CosmeticsFeatureRenderer lösen damit
+        //    Item-IDs in URLs/trail_ids auf. Badge-Katalog: Nametags und Tab-Liste.
+        //    Fehlschläge werden im CatalogService mit Backoff wiederholt.
+        BadgeCatalogClient.fetch(catalog -> { /* Nametags lesen über getBadgeById */ });
         CosmeticsCatalogClient.fetch(catalog -> {
             if (catalog != null && !catalog.isEmpty()) {
                 System.out.println("[VoxelClient] ✔ Cosmetics-Katalog geladen ("
@@ -110,6 +122,7 @@ public class VoxelClientClient implements ClientModInitializer {
 
         // Networking
         VoxelClientNetwork.init();
+        PlayerCacheLifecycle.init();
 
         // Listeners
         initLifeCycleListeners();
@@ -132,9 +145,8 @@ public class VoxelClientClient implements ClientModInitializer {
 
     public void initClientTickListeners() {
         // Cosmetics + Badge vorladen — nur für den eigenen Spieler beim ENTITY_LOAD.
-        // Andere Spieler werden lazy geladen wenn sie tatsächlich gerendert werden
-        // (getCosmetics() ruft prefetch() intern auf). Das verhindert Massen-Requests
-        // auf großen Servern.
+        // Andere Spieler werden nicht beim Rendern geladen (getCosmetics() ist ein
+        // reiner Lookup). Das verhindert Massen-Requests auf großen Servern.
         // ENTITY_LOAD: nur eigenen Spieler laden.
         // Andere Spieler werden via VoxelClient-Handshake (VoxelClientNetwork) erkannt
         // und dann gebatcht geladen — kein Einzel-Request pro sichtbarem Spieler mehr.
@@ -148,12 +160,13 @@ public class VoxelClientClient implements ClientModInitializer {
             }
         });
 
-        // Beim Disconnect: Spieler-spezifische Caches leeren.
+        // Beim Disconnect: Spieler-Caches als veraltet markieren (nicht leeren) –
+        // beim nächsten Join werden sie sofort angezeigt und per ETag revalidiert.
         // CosmeticsCatalogClient wird NICHT geleert – der Katalog ist
         // server-unabhängig und bleibt für den nächsten Join gültig.
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
-            CosmeticsApiClient.clearCache();
-            BadgeApiClient.clearCache();
+            CosmeticsApiClient.expireAll();
+            BadgeApiClient.expireAll();
         });
 
         // RShift → Menü öffnen + sichtbare Spieler vorladen
@@ -189,16 +202,9 @@ public class VoxelClientClient implements ClientModInitializer {
             client.execute(() -> {
                 if (client.player != null) {
                     UUID ownUuid = client.player.getUuid();
-                    // Spieler-Cosmetics neu laden (Server kann unterschiedliche Items haben)
-                    CosmeticsApiClient.clearCache();
+                    // Spieler-Cosmetics revalidieren (Server kann unterschiedliche Items haben)
+                    CosmeticsApiClient.expireAll();
                     CosmeticsApiClient.prefetch(ownUuid);
-
-                    // Katalog nachladen falls er beim Start noch nicht fertig war
-                    if (!CosmeticsCatalogClient.isLoaded()) {
-                        CosmeticsCatalogClient.fetch(catalog ->
-                                System.out.println("[VoxelClient] ✔ Katalog nachgeladen beim Join")
-                        );
-                    }
                 }
             });
         });
@@ -2,10 +2,20 @@ package de.voxellabs.voxelclient.client.badge;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.voxellabs.voxelclient.client.utils.BatchPipeline;
+import de.voxellabs.voxelclient.client.utils.BoundedCache;
+import de.voxellabs.voxelclient.client.utils.CircuitBreaker;
+import de.voxellabs.voxelclient.client.utils.HttpGateway;
+import de.voxellabs.voxelclient.client.utils.NegativeCache;
+import de.voxellabs.voxelclient.client.utils.PersistentResponseCache;
+import de.voxellabs.voxelclient.client.utils.PushChannel;
+import de.voxellabs.voxelclient.client.utils.RefreshScheduler;
 import de.voxellabs.voxelclient.client.utils.VoxelClientNetwork;
+import net.minecraft.text.Text;
 
-import java.net.URI;
-import java.net.http.HttpClient;
+import java.io.IOException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -17,9 +27,15 @@ import java.util.function.Consumer;
  * Lädt Badge-Daten via Batch-Endpoint.
  *
  * Strategie:
- *  - UUIDs werden 1,5s gesammelt, dann ein POST /api/badges/batch
+ *  - UUIDs werden 1,5s gesammelt (BatchPipeline, gemeinsam mit Cosmetics),
+ *    dann ein POST /api/batch bzw. Fallback POST /api/badges/batch
  *  - Eigener Spieler (fetchWithCallback): sofortiger Einzelrequest
- *  - Cache-TTL: 10 Minuten
+ *  - Cache-TTL: 10 Minuten, Refresh im Hintergrund vor Ablauf (RefreshScheduler, mit Jitter);
+ *    getBadge() ist ein reiner Lookup
+ *  - Persistenz: voxelclient/cache/badges, Revalidierung mit ETag im Batch
+ *    (bzw. Conditional GET beim Einzelrequest für den eigenen Spieler)
+ *  - Ausfälle: Circuit Breaker + Backoff mit Jitter (NegativeCache); ein Fehler
+ *    überschreibt nie ein bereits bekanntes Badge
  */
 public final class BadgeApiClient {
 
@@ -29,16 +45,25 @@ public final class BadgeApiClient {
 
     private static final long     CACHE_TTL_MS  = 10 * 60 * 1000L;
     private static final Duration TIMEOUT       = Duration.ofSeconds(6);
-    private static final long     BATCH_WINDOW  = 1500L;
     private static final int      BATCH_MAX     = 100;
 
-    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
     private static final Gson GSON = new Gson();
 
+    private static final PersistentResponseCache DISK = new PersistentResponseCache("badges");
+
+    private static final CircuitBreaker SINGLE   = new CircuitBreaker("badges");
+    private static final NegativeCache  NEGATIVE = new NegativeCache("badges", 2 * 60 * 1000L);
+
+    private static final RefreshScheduler.Domain REFRESH = new RefreshScheduler.Domain(
+            "badges", CACHE_TTL_MS, BadgeApiClient::revalidate, VoxelClientNetwork::isVoxelUser);
+
     // ── Cache ─────────────────────────────────────────────────────────────────
     public static class CachedBadge {
         public final String name, display, color, icon;
         final long fetchedAt;
+        // Einmal pro Badge-Instanz berechnet (Instanzen sind unveränderlich)
+        private volatile String prefix;
+        private volatile Text   prefixText;
         CachedBadge(String name, String display, String color, String icon, long fetchedAt) {
             this.name = name; this.display = display;
             this.color = color; this.icon = icon; this.fetchedAt = fetchedAt;
@@ -46,183 +71,309 @@ public final class BadgeApiClient {
         public boolean isExpired() {
             return System.currentTimeMillis() - fetchedAt > CACHE_TTL_MS;
         }
+        /** Farbcode + Icon für Nametag/Tab-Liste, z.B. "§6★ §r". */
+        public String prefix() {
+            String p = prefix;
+            if (p == null) prefix = p = formatColor(color) + (icon != null ? icon : "✦") + " §r";
+            return p;
+        }
+        /** {@link #prefix()} als Text-Komponente (nicht verändern – ggf. {@code copy()}). */
+        public Text prefixText() {
+            Text t = prefixText;
+            if (t == null) prefixText = t = Text.literal(prefix());
+            return t;
+        }
     }
 
+    // name == null bedeutet "kein Badge vergeben" (NO_BADGE oder revalidierbare Variante)
     private static final CachedBadge NO_BADGE =
             new CachedBadge(null, null, null, null, Long.MAX_VALUE / 2);
 
-    private static final Map<UUID, CachedBadge>            CACHE     = new ConcurrentHashMap<>();
+    // Interner Marker in fetchSingle: Request fehlgeschlagen (≠ "kein Badge")
+    private static final CachedBadge FAILED = new CachedBadge(null, null, null, null, 0L);
+
+    private static final BoundedCache<UUID, CachedBadge>   CACHE     =
+            new BoundedCache<>("badges", 2000, 30 * 60 * 1000L, 256);
     private static final Set<UUID>                         LOADING   = ConcurrentHashMap.newKeySet();
     private static final Map<UUID, List<Consumer<CachedBadge>>> CALLBACKS = new ConcurrentHashMap<>();
 
-    // ── Batch-Sammler ─────────────────────────────────────────────────────────
-    private static final Set<UUID>            BATCH_PENDING = ConcurrentHashMap.newKeySet();
-    private static volatile ScheduledFuture<?> batchTimer   = null;
-    private static final ScheduledExecutorService SCHEDULER =
-            Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "VoxelClient-BadgeBatch");
-                t.setDaemon(true);
-                return t;
-            });
+    // ── Batch-Channel (gesammelt in BatchPipeline, gemeinsam mit Cosmetics) ────
+    private static final BatchPipeline.Channel BATCH = new BatchPipeline.Channel(
+            "badges", BATCH_URL, BATCH_MAX, TIMEOUT, new BatchPipeline.Decoder() {
+                @Override
+                public void read(UUID uuid, JsonReader reader) throws IOException {
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        reader.skipValue();
+                        missing(uuid);
+                        return;
+                    }
+                    // Felder direkt aus dem Stream lesen, unbekannte überspringen
+                    String name = null, display = null, color = null, icon = null, etag = null;
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        switch (reader.nextName()) {
+                            case "badge_name" -> name    = nextString(reader);
+                            case "display"    -> display = nextString(reader);
+                            case "color"      -> color   = nextString(reader);
+                            case "icon"       -> icon    = nextString(reader);
+                            case "etag"       -> etag    = nextString(reader);
+                            default           -> reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+
+                    LOADING.remove(uuid);
+                    long now = System.currentTimeMillis();
+                    CachedBadge badge = name != null ? new CachedBadge(name, display, color, icon, now) : null;
+                    DISK.put(uuid, toJson(name, display, color, icon), etag, null);
+                    NEGATIVE.clear(uuid);
+                    RefreshScheduler.schedule(REFRESH, uuid, now);
+                    storeAndFire(uuid, badge);
+                }
 
-    // ── Globaler Badge-Katalog (id → Badge) ──────────────────────────────────
-    // Wird von CosmeticsCatalogClient/ClientModScreen via loadAllBadges() befüllt.
-    private static final java.util.concurrent.ConcurrentHashMap<Integer, CachedBadge>
-            CATALOG = new java.util.concurrent.ConcurrentHashMap<>();
+                @Override
+                public void missing(UUID uuid) {
+                    LOADING.remove(uuid);
+                    NEGATIVE.markMissing(uuid);
+                    RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+                    storeAndFire(uuid, null);
+                }
+
+                @Override
+                public void notModified(UUID uuid) {
+                    PersistentResponseCache.Entry stored = DISK.touch(uuid);
+                    if (stored == null) {
+                        // Gespeicherte Antwort inzwischen weg → beim nächsten Versuch ohne ETag
+                        failed(uuid);
+                        return;
+                    }
+                    LOADING.remove(uuid);
+                    NEGATIVE.clear(uuid);
+                    RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+                    storeAndFire(uuid, parseBadge(GSON.fromJson(stored.body(), JsonObject.class)));
+                }
+
+                @Override
+                public void fail(UUID uuid) {
+                    failed(uuid);
+                }
+            }, BadgeApiClient::storedEtag);
 
-    /** Speichert alle bekannten Badges aus dem öffentlichen Katalog. */
-    public static void putCatalogBadge(int id, String name, String display, String color, String icon) {
-        CATALOG.put(id, new CachedBadge(name, display, color, icon, Long.MAX_VALUE / 2));
+    // Push-Updates (falls verbunden) nutzen denselben Decoder wie der Batch
+    static {
+        PushChannel.register(BATCH, REFRESH, BadgeApiClient::revalidate);
     }
 
+    // ── Globaler Badge-Katalog (id → Badge) ──────────────────────────────────
+
     /** Gibt ein Badge anhand seiner ID zurück (aus dem Katalog, unabhängig vom Spieler). */
     public static CachedBadge getBadgeById(int id) {
-        return CATALOG.get(id);
+        BadgeCatalog catalog = BadgeCatalogClient.get();
+        return catalog != null ? catalog.byId(id) : null;
     }
 
     private BadgeApiClient() {}
 
     // ── Public API ────────────────────────────────────────────────────────────
 
+    /** Reiner Cache-Lookup (Render-Thread). Abgelaufene Badges erneuert der RefreshScheduler. */
     public static CachedBadge getBadge(UUID uuid) {
         CachedBadge c = CACHE.get(uuid);
-        if (c != null && !c.isExpired()) return c == NO_BADGE ? null : c;
-        prefetch(uuid);
-        return (c == null || c == NO_BADGE) ? null : c;
+        return (c == null || c.name == null) ? null : c;
     }
 
     public static String getBadgeString(UUID uuid) {
         CachedBadge badge = getBadge(uuid);
         if (badge == null) return "§7✦ §r";
-        return formatColor(badge.color) + (badge.icon != null ? badge.icon : "✦") + " §r";
+        return badge.prefix();
     }
 
     /** Fügt UUID in Batch-Queue ein. Nur für bestätigte VoxelClient-Nutzer aufrufen. */
     public static void prefetch(UUID uuid) {
-        CachedBadge c = CACHE.get(uuid);
+        CachedBadge c = CACHE.peek(uuid);
         if (c != null && !c.isExpired()) return;
-        if (!LOADING.add(uuid)) return;
+        if (NEGATIVE.isBlocked(uuid)) return;
+        revalidate(uuid);
+    }
 
-        BATCH_PENDING.add(uuid);
+    /** true solange die Badge-API als ausgefallen gilt (Circuit offen). */
+    public static boolean isUnavailable() {
+        return SINGLE.isOpen() || BATCH.isOpen();
+    }
 
-        if (batchTimer == null || batchTimer.isDone()) {
-            batchTimer = SCHEDULER.schedule(
-                    BadgeApiClient::flushBatch, BATCH_WINDOW, TimeUnit.MILLISECONDS);
-        }
-        if (BATCH_PENDING.size() >= BATCH_MAX) {
-            if (batchTimer != null) batchTimer.cancel(false);
-            SCHEDULER.execute(BadgeApiClient::flushBatch);
+    /**
+     * Lädt das Badge neu, unabhängig vom Alter (RefreshScheduler, Push-Invalidierung).
+     * Bekannte ETags reisen im Batch mit; unveränderte Badges kommen als "not_modified" zurück.
+     */
+    private static void revalidate(UUID uuid) {
+        if (!LOADING.add(uuid)) return;
+
+        if (BATCH.isOpen()) {
+            failed(uuid);
+            return;
         }
+        BatchPipeline.enqueue(BATCH, uuid);
     }
 
     /** Sofortiger Einzelrequest für den eigenen Spieler. */
     public static void fetchWithCallback(UUID uuid, Consumer<CachedBadge> callback) {
-        CachedBadge c = CACHE.get(uuid);
+        CachedBadge c = CACHE.peek(uuid);
         if (c != null && !c.isExpired()) {
-            callback.accept(c == NO_BADGE ? null : c);
+            callback.accept(c.name == null ? null : c);
+            return;
+        }
+        // Backoff läuft oder API ausgefallen → sofort mit dem bekannten Stand antworten
+        if (NEGATIVE.isBlocked(uuid) || SINGLE.isOpen()) {
+            callback.accept(c == null || c.name == null ? null : c);
             return;
         }
         CALLBACKS.computeIfAbsent(uuid, k -> new ArrayList<>()).add(callback);
         if (LOADING.add(uuid)) {
-            Thread.ofVirtual().start(() -> fetchSingle(uuid));
+            fetchSingle(uuid);
         }
     }
 
-    public static void clearCache() {
-        CACHE.clear();
+    /** Liest den Disk-Cache beim Start ein (Badges sofort sichtbar, Revalidierung später). */
+    public static void loadPersisted() {
+        DISK.loadAsync((uuid, entry) -> {
+            try {
+                CachedBadge badge = parseBadge(GSON.fromJson(entry.body(), JsonObject.class), entry.storedAt);
+                CACHE.putIfAbsent(uuid, badge != null ? badge : expiredNoBadge());
+            } catch (Exception e) {
+                DISK.remove(uuid);
+            }
+        });
+    }
+
+    /**
+     * Markiert alle Einträge als veraltet, behält aber die Daten (Server-Wechsel).
+     * Badges bleiben sichtbar und werden im Hintergrund revalidiert.
+     */
+    public static void expireAll() {
+        CACHE.replaceAll((uuid, c) -> c == NO_BADGE ? expiredNoBadge()
+                : new CachedBadge(c.name, c.display, c.color, c.icon, 0L));
         LOADING.clear();
-        BATCH_PENDING.clear();
+        BatchPipeline.clear(BATCH);
+        RefreshScheduler.cancelAll(REFRESH);
         CALLBACKS.clear();
     }
 
-    // ── Batch ─────────────────────────────────────────────────────────────────
-
-    private static synchronized void flushBatch() {
-        if (BATCH_PENDING.isEmpty()) return;
-        List<UUID> batch = new ArrayList<>(BATCH_PENDING);
-        BATCH_PENDING.clear();
-
-        System.out.println("[VoxelClient] Badge Batch-Request: " + batch.size() + " UUIDs");
+    /** Spieler ist außer Sichtweite: Badge bleibt, wird aber zuerst verdrängt. */
+    public static void demote(UUID uuid) {
+        CACHE.demote(uuid);
+    }
 
-        com.google.gson.JsonArray arr = new com.google.gson.JsonArray();
-        batch.forEach(u -> arr.add(u.toString()));
-        com.google.gson.JsonObject body = new com.google.gson.JsonObject();
-        body.add("uuids", arr);
+    /** Spieler hat den Server verlassen. */
+    public static void invalidate(UUID uuid) {
+        CACHE.remove(uuid);
+        BadgeDecorations.forget(uuid);
+        LOADING.remove(uuid);
+        NEGATIVE.clear(uuid);
+        BatchPipeline.cancel(BATCH, uuid);
+        RefreshScheduler.cancel(REFRESH, uuid);
+        CALLBACKS.remove(uuid);
+    }
 
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(BATCH_URL))
-                .timeout(TIMEOUT)
-                .header("Content-Type", "application/json")
-                .header("User-Agent", "VoxelClient/1.0")
-                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
-                .build();
+    public static BoundedCache.Stats stats() {
+        return CACHE.stats();
+    }
 
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                HttpResponse<String> resp = HTTP.send(req, HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() == 200) return resp.body();
-                System.err.println("[VoxelClient] Badge-Batch HTTP " + resp.statusCode());
-                return null;
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Badge-Batch Fehler: " + e.getMessage());
-                return null;
-            }
-        }).handle((responseBody, ex) -> {
-            batch.forEach(LOADING::remove);
-            if (responseBody == null) {
-                batch.forEach(uuid -> storeAndFire(uuid, null));
-                return null;
-            }
-            try {
-                JsonObject map = GSON.fromJson(responseBody, JsonObject.class);
-                for (UUID uuid : batch) {
-                    CachedBadge badge = null;
-                    if (map.has(uuid.toString()) && !map.get(uuid.toString()).isJsonNull()) {
-                        badge = parseBadge(map.getAsJsonObject(uuid.toString()));
-                    }
-                    storeAndFire(uuid, badge);
-                }
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Badge-Batch Parse-Fehler: " + e.getMessage());
-                batch.forEach(uuid -> storeAndFire(uuid, null));
-            }
-            return null;
-        });
+    public static void clearCache() {
+        CACHE.clear();
+        BadgeDecorations.clear();
+        LOADING.clear();
+        NEGATIVE.clearAll();
+        BatchPipeline.clear(BATCH);
+        RefreshScheduler.cancelAll(REFRESH);
+        CALLBACKS.clear();
     }
 
     // ── Einzelrequest ─────────────────────────────────────────────────────────
 
     private static void fetchSingle(UUID uuid) {
-        try {
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(SINGLE_URL + uuid))
-                    .timeout(TIMEOUT)
-                    .header("User-Agent", "VoxelClient/1.0")
-                    .GET().build();
-            HttpResponse<String> resp = HTTP.send(req, HttpResponse.BodyHandlers.ofString());
-            CachedBadge badge = null;
-            if (resp.statusCode() == 200) {
-                JsonObject json = GSON.fromJson(resp.body(), JsonObject.class);
-                badge = parseBadge(json);
+        if (!SINGLE.allowRequest()) {
+            failed(uuid);
+            return;
+        }
+        PersistentResponseCache.Entry stored = DISK.get(uuid);
+        HttpRequest req = PersistentResponseCache.applyValidators(
+                HttpGateway.request(SINGLE_URL + uuid).timeout(TIMEOUT), stored)
+                .GET().build();
+
+        // Breaker-Buchung genau einmal: Erfolg/HTTP-Status nach vollständiger Verarbeitung,
+        // Netzwerk- und Parse-Fehler nur in exceptionally
+        HttpGateway.send(req, HttpResponse.BodyHandlers.ofString()).thenApply(resp -> {
+            CachedBadge badge = handleSingle(uuid, stored, resp);
+            SINGLE.record(resp, null);
+            return badge;
+        }).exceptionally(e -> {
+            System.err.println("[VoxelClient] Badge-Single Fehler: " + e.getMessage());
+            SINGLE.onFailure();
+            return FAILED;
+        }).thenAccept(badge -> {
+            if (badge == FAILED) {
+                failed(uuid);
+                return;
             }
             LOADING.remove(uuid);
             storeAndFire(uuid, badge);
-        } catch (Exception e) {
-            System.err.println("[VoxelClient] Badge-Single Fehler: " + e.getMessage());
-            LOADING.remove(uuid);
-            storeAndFire(uuid, null);
+        });
+    }
+
+    /** Wertet die Einzel-Antwort aus (ohne Breaker-Buchung); wirft bei kaputtem JSON. */
+    private static CachedBadge handleSingle(UUID uuid, PersistentResponseCache.Entry stored,
+                                            HttpResponse<String> resp) {
+        if (resp.statusCode() == 304 && stored != null) {
+            // Unverändert → gespeicherte Antwort mit frischem Zeitstempel
+            NEGATIVE.clear(uuid);
+            DISK.touch(uuid);
+            RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+            return parseBadge(GSON.fromJson(stored.body(), JsonObject.class));
+        }
+        if (resp.statusCode() == 404) {
+            NEGATIVE.markMissing(uuid);
+            RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+            return null;
         }
+        if (resp.statusCode() != 200) return FAILED;
+        JsonObject json = GSON.fromJson(resp.body(), JsonObject.class);
+        DISK.put(uuid, resp.body(), resp.headers());
+        NEGATIVE.clear(uuid);
+        RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+        return parseBadge(json);
     }
 
     // ── Hilfsmethoden ─────────────────────────────────────────────────────────
 
+    private static String storedEtag(UUID uuid) {
+        PersistentResponseCache.Entry stored = DISK.get(uuid);
+        return stored != null ? stored.etag : null;
+    }
+
     private static CachedBadge parseBadge(JsonObject json) {
+        return parseBadge(json, System.currentTimeMillis());
+    }
+
+    private static CachedBadge parseBadge(JsonObject json, long fetchedAt) {
         if (json == null) return null;
         String name = str(json, "badge_name");
         if (name == null) return null; // kein Badge vergeben
         return new CachedBadge(
                 name, str(json, "display"), str(json, "color"),
-                str(json, "icon"), System.currentTimeMillis());
+                str(json, "icon"), fetchedAt);
+    }
+
+    /** "Kein Badge" aus dem Disk-Cache: wird angezeigt wie NO_BADGE, aber revalidiert. */
+    private static CachedBadge expiredNoBadge() {
+        return new CachedBadge(null, null, null, null, 0L);
+    }
+
+    /** Request nicht möglich oder fehlgeschlagen: Backoff, bekanntes Badge bleibt stehen. */
+    private static void failed(UUID uuid) {
+        LOADING.remove(uuid);
+        RefreshScheduler.retry(REFRESH, uuid, NEGATIVE.markFailed(uuid));
+        List<Consumer<CachedBadge>> cbs = CALLBACKS.remove(uuid);
+        if (cbs != null) cbs.forEach(cb -> cb.accept(getBadge(uuid)));
     }
 
     private static void storeAndFire(UUID uuid, CachedBadge badge) {
@@ -232,6 +383,24 @@ public final class BadgeApiClient {
         if (cbs != null) cbs.forEach(cb -> cb.accept(badge));
     }
 
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /** Gleiche Form wie die API-Antwort, damit parseBadge() den Disk-Eintrag lesen kann. */
+    private static String toJson(String name, String display, String color, String icon) {
+        JsonObject json = new JsonObject();
+        json.addProperty("badge_name", name);
+        json.addProperty("display", display);
+        json.addProperty("color", color);
+        json.addProperty("icon", icon);
+        return json.toString();
+    }
+
     private static String str(JsonObject json, String key) {
         return (json.has(key) && !json.get(key).isJsonNull())
                 ? json.get(key).getAsString() : null;
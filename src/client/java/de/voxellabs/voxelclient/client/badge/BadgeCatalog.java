@@ -0,0 +1,110 @@
+package de.voxellabs.voxelclient.client.badge;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unveränderlicher Snapshot des öffentlichen Badge-Katalogs (GET /api/badges/public).
+ *
+ * Akzeptierte Formen:
+ *   [ { "id": 1, "name": "dev", "display": "Developer", "color": "#FF5555", "icon": "⚒" }, ... ]
+ *   { "version": "7", "badges": [ ... ] }
+ *   { "version": "8", "delta": true, "badges": [ geänderte/neue ], "removed_ids": [ 3 ] }
+ */
+public final class BadgeCatalog {
+
+    public static final class Badge {
+        public final int    id;
+        public final String name, display, color, icon;
+
+        Badge(int id, String name, String display, String color, String icon) {
+            this.id = id; this.name = name; this.display = display;
+            this.color = color; this.icon = icon;
+        }
+    }
+
+    public final String      version;
+    public final List<Badge> badges;
+    private final Map<Integer, BadgeApiClient.CachedBadge> byId;
+
+    private BadgeCatalog(String version, List<Badge> badges) {
+        this.version = version;
+        this.badges  = Collections.unmodifiableList(badges);
+        Map<Integer, BadgeApiClient.CachedBadge> index = new HashMap<>(badges.size() * 2);
+        for (Badge b : badges) {
+            index.put(b.id, new BadgeApiClient.CachedBadge(b.name, b.display, b.color, b.icon, Long.MAX_VALUE / 2));
+        }
+        this.byId = index;
+    }
+
+    /** Badge anhand seiner ID (null wenn unbekannt). */
+    public BadgeApiClient.CachedBadge byId(int id) {
+        return byId.get(id);
+    }
+
+    // ── JSON ──────────────────────────────────────────────────────────────────
+
+    /** Parst eine vollständige Antwort oder wendet ein Delta auf {@code previous} an. */
+    static BadgeCatalog parse(String body, BadgeCatalog previous) {
+        JsonElement root = JsonParser.parseString(body);
+        if (root.isJsonArray()) return new BadgeCatalog(null, readBadges(root.getAsJsonArray()));
+        if (!root.isJsonObject()) return null;
+
+        JsonObject obj = root.getAsJsonObject();
+        String version = obj.has("version") && !obj.get("version").isJsonNull()
+                ? obj.get("version").getAsString() : null;
+        List<Badge> badges = obj.has("badges") ? readBadges(obj.getAsJsonArray("badges")) : List.of();
+        boolean delta = obj.has("delta") && obj.get("delta").getAsBoolean();
+        if (!delta || previous == null) return new BadgeCatalog(version, new ArrayList<>(badges));
+
+        Set<Integer> removed = new HashSet<>();
+        if (obj.has("removed_ids")) obj.getAsJsonArray("removed_ids").forEach(e -> removed.add(e.getAsInt()));
+        Map<Integer, Badge> merged = new LinkedHashMap<>();
+        for (Badge b : previous.badges) merged.put(b.id, b);
+        for (Badge b : badges) merged.put(b.id, b);
+        merged.keySet().removeAll(removed);
+        return new BadgeCatalog(version != null ? version : previous.version, new ArrayList<>(merged.values()));
+    }
+
+    String serialize() {
+        JsonObject obj = new JsonObject();
+        if (version != null) obj.addProperty("version", version);
+        JsonArray arr = new JsonArray();
+        for (Badge b : badges) {
+            JsonObject o = new JsonObject();
+            o.addProperty("id", b.id);
+            o.addProperty("name", b.name);
+            o.addProperty("display", b.display);
+            o.addProperty("color", b.color);
+            o.addProperty("icon", b.icon);
+            arr.add(o);
+        }
+        obj.add("badges", arr);
+        return obj.toString();
+    }
+
+    private static List<Badge> readBadges(JsonArray arr) {
+        List<Badge> out = new ArrayList<>(arr.size());
+        for (JsonElement el : arr) {
+            JsonObject o = el.getAsJsonObject();
+            out.add(new Badge(o.get("id").getAsInt(), str(o, "name"), str(o, "display"),
+                    str(o, "color"), str(o, "icon")));
+        }
+        return out;
+    }
+
+    private static String str(JsonObject o, String key) {
+        return o.has(key) && !o.get(key).isJsonNull() ? o.get(key).getAsString() : null;
+    }
+}
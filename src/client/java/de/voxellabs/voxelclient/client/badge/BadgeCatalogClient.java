@@ -0,0 +1,60 @@
+package de.voxellabs.voxelclient.client.badge;
+
+import de.voxellabs.voxelclient.client.utils.CatalogService;
+
+import java.util.function.Consumer;
+
+/**
+ * Öffentlicher Badge-Katalog (id → Badge), Gegenstück zum CosmeticsCatalogClient.
+ *
+ * Wird beim Start synchron von der Platte geladen und einmal pro Session mit
+ * GET /api/badges/public abgeglichen – Nametags und Tab-Liste können Badges damit
+ * sofort auflösen, ohne dass vorher das Menü geöffnet werden muss.
+ */
+public final class BadgeCatalogClient {
+
+    private static final String CATALOG_URL = "https://api.voxellabs.de/api/badges/public";
+
+    private static final CatalogService<BadgeCatalog> SERVICE = new CatalogService<>(
+            "badges", CATALOG_URL, new CatalogService.Codec<>() {
+                @Override
+                public BadgeCatalog parse(String body, BadgeCatalog previous) {
+                    return BadgeCatalog.parse(body, previous);
+                }
+
+                @Override
+                public String serialize(BadgeCatalog catalog) {
+                    return catalog.serialize();
+                }
+
+                @Override
+                public String version(BadgeCatalog catalog) {
+                    return catalog.version;
+                }
+
+                @Override
+                public int size(BadgeCatalog catalog) {
+                    return catalog.badges.size();
+                }
+            }, 3);
+
+    private BadgeCatalogClient() {}
+
+    /** Aktueller Katalog oder null. Lock-frei. */
+    public static BadgeCatalog get() {
+        return SERVICE.get();
+    }
+
+    public static boolean isLoading() {
+        return SERVICE.isLoading();
+    }
+
+    /** Liest den zuletzt gespeicherten Katalog synchron von der Platte (kein Netzwerk). */
+    public static void loadPersisted() {
+        SERVICE.loadPersisted();
+    }
+
+    public static void fetch(Consumer<BadgeCatalog> callback) {
+        SERVICE.fetch(callback);
+    }
+}
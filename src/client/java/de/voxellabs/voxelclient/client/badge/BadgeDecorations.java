@@ -0,0 +1,93 @@
+package de.voxellabs.voxelclient.client.badge;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import de.voxellabs.voxelclient.client.utils.VoxelClientNetwork;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Badge-Präfixe für Nametags (PlayerNameTagMixin) und Tab-Liste (PlayerListHudMixin).
+ *
+ * Beide fragen jeden Frame für jeden Spieler an. Statt das Präfix jedes Mal neu zu bauen
+ * (Hex-Farbe parsen, Strings verketten, {@code Text.literal(..).append(..)}), wird:
+ *   - das Präfix pro Badge einmal berechnet ({@link BadgeApiClient.CachedBadge#prefix()})
+ *   - der dekorierte Name pro Spieler gemerkt, solange Badge-Instanz und Originalname
+ *     gleich bleiben. Neue Badge-Daten sind eine neue Instanz → der Eintrag wird beim
+ *     nächsten Zugriff ersetzt; entfernte Spieler werden über {@link #forget} vergessen.
+ *
+ * Im eingeschwungenen Zustand entsteht pro Frame so keine neue Text-Komponente.
+ */
+public final class BadgeDecorations {
+
+    private record Decorated<T>(BadgeApiClient.CachedBadge badge, T original, T decorated) {
+        boolean matches(BadgeApiClient.CachedBadge b, T name) {
+            return badge == b && (original == name || original.equals(name));
+        }
+    }
+
+    private static final Map<UUID, Decorated<Text>>   TAB_NAMES = new ConcurrentHashMap<>();
+    private static final Map<UUID, Decorated<String>> NAMETAGS  = new ConcurrentHashMap<>();
+
+    private BadgeDecorations() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Tab-Listen-Name mit Badge-Präfix, oder {@code original} wenn der Spieler keins hat. */
+    public static Text decorateTabName(UUID uuid, Text original) {
+        BadgeApiClient.CachedBadge badge = activeBadge(uuid);
+        if (badge == null) return original;
+
+        Decorated<Text> cached = TAB_NAMES.get(uuid);
+        if (cached != null && cached.matches(badge, original)) return cached.decorated();
+
+        Text decorated = badge.prefixText().copy().append(original);
+        TAB_NAMES.put(uuid, new Decorated<>(badge, original, decorated));
+        return decorated;
+    }
+
+    /** Nametag mit Badge-Präfix, oder {@code name} wenn der Spieler keins hat. */
+    public static String decorateNametag(UUID uuid, String name) {
+        BadgeApiClient.CachedBadge badge = activeBadge(uuid);
+        if (badge == null) return name;
+
+        Decorated<String> cached = NAMETAGS.get(uuid);
+        if (cached != null && cached.matches(badge, name)) return cached.decorated();
+        if (cached != null && cached.decorated().equals(name)) return name; // schon dekoriert
+
+        String decorated = name.startsWith(badge.prefix()) ? name : badge.prefix() + name;
+        NAMETAGS.put(uuid, new Decorated<>(badge, name, decorated));
+        return decorated;
+    }
+
+    public static void forget(UUID uuid) {
+        TAB_NAMES.remove(uuid);
+        NAMETAGS.remove(uuid);
+    }
+
+    public static void clear() {
+        TAB_NAMES.clear();
+        NAMETAGS.clear();
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    /**
+     * Aktives Badge eines Spielers:
+     *   Eigener Spieler → activeBadgeId aus der Config, nachgeschlagen im Katalog
+     *   Andere Spieler  → Server-Antwort
+     * null für Nicht-VoxelClient-Spieler und Spieler ohne Badge.
+     */
+    private static BadgeApiClient.CachedBadge activeBadge(UUID uuid) {
+        if (!VoxelClientNetwork.isVoxelUser(uuid)) return null;
+        MinecraftClient mc = MinecraftClient.getInstance();
+        if (mc.player != null && mc.player.getUuid().equals(uuid)) {
+            int activeId = VoxelClientConfig.get().activeBadgeId;
+            return activeId != 0 ? BadgeApiClient.getBadgeById(activeId) : null;
+        }
+        return BadgeApiClient.getBadge(uuid);
+    }
+}
@@ -2,6 +2,7 @@ package de.voxellabs.voxelclient.client.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticSlot;
 import net.fabricmc.loader.api.FabricLoader;
 
 import java.io.*;
@@ -53,11 +54,28 @@ public class VoxelClientConfig {
     /** Aktives (angezeigtes) Badge-ID. 0 = keins. Nur eines gleichzeitig. */
     public int activeBadgeId = 0;
 
+    /** Cosmetic-/Badge-Änderungen per Push-Verbindung statt TTL-Polling empfangen (opt-in). */
+    public boolean cosmeticsLiveUpdates = false;
+
     // ── Utility ──────────────────────────────────────────────────────────────
     public boolean deathWaypoint  = true;
     public boolean chatTimestamps = true;
     public boolean uiAnimations   = true;
 
+    // ── Rendering ────────────────────────────────────────────────────────────
+    /** Zeitbudget pro Frame für das Hochladen neuer Texturen (Cosmetics, Icons). */
+    public double textureUploadBudgetMs = 2.0;
+    /** Geschätzter GPU-Speicher für dynamische Texturen; darüber werden ungenutzte freigegeben. */
+    public int    textureVramBudgetMb   = 256;
+    /** Cosmetics abhängig von der Bildschirmgröße des Spielers vereinfachen/ausblenden. */
+    public boolean cosmeticsLod         = true;
+    /** Ab dieser Spielerhöhe (Pixel) volle Animation, darunter statische Pose. */
+    public int     cosmeticsLodFullPx   = 96;
+    /** Unter dieser Spielerhöhe (Pixel) werden Halo/Wings/Trails nicht mehr gezeichnet. */
+    public int     cosmeticsLodCullPx   = 24;
+    /** Maximale Trail-Partikel pro Spawn-Runde (alle 2 Ticks), fair auf alle Spieler verteilt. */
+    public int     trailParticleBudget  = 120;
+
     // ── Internal ─────────────────────────────────────────────────────────────
     private VoxelClientConfig() {}
 
@@ -74,6 +92,16 @@ public class VoxelClientConfig {
         };
     }
 
+    /** Gibt die aktive Item-ID für einen Slot zurück (Render-Pfad, ohne String-Vergleich). */
+    public int getActiveItemId(CosmeticSlot slot) {
+        return switch (slot) {
+            case CAPE  -> cosmeticActiveCapeId;
+            case HALO  -> cosmeticActiveHaloId;
+            case WINGS -> cosmeticActiveWingsId;
+            case TRAIL -> cosmeticActiveTrailId;
+        };
+    }
+
     /** Setzt die aktive Item-ID für einen Typ-Namen. */
     public void setActiveItemId(String typeName, int itemId) {
         switch (typeName) {
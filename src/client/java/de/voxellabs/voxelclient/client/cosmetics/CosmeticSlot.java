@@ -0,0 +1,46 @@
+package de.voxellabs.voxelclient.client.cosmetics;
+
+import de.voxellabs.voxelclient.client.utils.TexturePipeline;
+
+/**
+ * Die Cosmetic-Slots eines Spielers. Der {@link #key} entspricht dem Typ-Namen
+ * in API und Katalog ("cape", "halo", ...); {@link #ordinal()} dient als Index
+ * in {@link CosmeticsProfile}.
+ */
+public enum CosmeticSlot {
+    // Texturgröße = was der Renderer tatsächlich zeigt; größere CDN-Bilder werden verkleinert
+    CAPE("cape",   64,  32),    // Vanilla-Cape-Layout
+    HALO("halo",  128, 128),    // HaloRenderer: Ring über dem Kopf
+    WINGS("wings", 256, 256),   // WingsRenderer: zwei 0,9-Block-Flügel
+    TRAIL("trail",   0,   0);   // Partikel, keine Textur
+
+    private static final CosmeticSlot[] VALUES = values();
+
+    public final String key;
+    private final TexturePipeline.Limits textureLimits;
+
+    CosmeticSlot(String key, int maxTextureWidth, int maxTextureHeight) {
+        this.key = key;
+        this.textureLimits = maxTextureWidth > 0
+                ? new TexturePipeline.Limits(maxTextureWidth, maxTextureHeight, false)
+                : TexturePipeline.Limits.DEFAULT;
+    }
+
+    /** Zielgröße für Texturen dieses Slots (siehe {@link TexturePipeline}). */
+    public TexturePipeline.Limits textureLimits() {
+        return textureLimits;
+    }
+
+    /** Slot zu einem Typ-Namen, oder null wenn unbekannt. */
+    public static CosmeticSlot fromKey(String key) {
+        if (key == null) return null;
+        for (CosmeticSlot slot : VALUES) {
+            if (slot.key.equals(key)) return slot;
+        }
+        return null;
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+}
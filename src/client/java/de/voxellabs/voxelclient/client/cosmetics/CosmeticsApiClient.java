@@ -1,13 +1,20 @@
 package de.voxellabs.voxelclient.client.cosmetics;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.network.AbstractClientPlayerEntity;
-
-import java.net.URI;
-import java.net.http.HttpClient;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.voxellabs.voxelclient.client.utils.BatchPipeline;
+import de.voxellabs.voxelclient.client.utils.BoundedCache;
+import de.voxellabs.voxelclient.client.utils.CircuitBreaker;
+import de.voxellabs.voxelclient.client.utils.HttpGateway;
+import de.voxellabs.voxelclient.client.utils.NegativeCache;
+import de.voxellabs.voxelclient.client.utils.PersistentResponseCache;
+import de.voxellabs.voxelclient.client.utils.PushChannel;
+import de.voxellabs.voxelclient.client.utils.RefreshScheduler;
+import de.voxellabs.voxelclient.client.utils.VoxelClientNetwork;
+
+import java.io.IOException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -20,9 +27,17 @@ import java.util.function.Consumer;
  *
  * Rate-Limit-Strategie:
  *   - Nur für bestätigte VoxelClient-Nutzer fetchen (via Handshake)
- *   - Batch-Requests: UUIDs werden 1,5s gesammelt, dann ein POST /api/cosmetics/batch
+ *   - Batch-Requests: UUIDs werden 1,5s gesammelt (BatchPipeline, gemeinsam mit Badges),
+ *     dann ein POST /api/batch bzw. Fallback POST /api/cosmetics/batch
  *   - Eigener Spieler: sofortige Einzelanfrage (fetchWithCallback)
- *   - Cache-TTL: 10 Minuten
+ *   - Cache-TTL: 10 Minuten, Refresh im Hintergrund vor Ablauf (RefreshScheduler, mit Jitter);
+ *     getCosmetics() ist ein reiner Lookup und löst nie selbst einen Request aus
+ *   - Ausfälle: Circuit Breaker pro Endpoint, Backoff mit Jitter pro UUID und kurze
+ *     Negativ-TTL für Spieler ohne Daten (NegativeCache) – solange gilt "nicht verfügbar"
+ *   - Persistenz: Antworten liegen zusätzlich auf der Platte (voxelclient/cache/cosmetics)
+ *     und werden nach Neustart/Rejoin sofort ausgeliefert. Bekannte ETags reisen im Batch
+ *     mit ("not_modified" statt komplettem Payload); der eigene Spieler (Einzelrequest)
+ *     nutzt Conditional GET mit ETag/Last-Modified.
  */
 public class CosmeticsApiClient {
 
@@ -33,76 +48,165 @@ public class CosmeticsApiClient {
     // Cache: 10 Minuten TTL
     private static final long CACHE_TTL_MS = 10 * 60 * 1000L;
 
-    private static final Map<UUID, CosmeticsApiResponse>                 CACHE     = new ConcurrentHashMap<>();
     private static final Map<UUID, Long>                                  CACHED_AT = new ConcurrentHashMap<>();
+    // Begrenzt: höchstens 2000 Spieler, 30 Minuten ohne Zugriff → raus (Daten liegen noch auf der Platte)
+    // Gespeichert wird die kompakte Form (CosmeticsProfile), nicht das JSON-DTO
+    private static final BoundedCache<UUID, CosmeticsProfile>             CACHE     =
+            new BoundedCache<UUID, CosmeticsProfile>("cosmetics", 2000, 30 * 60 * 1000L, 160)
+                    .onRemoval((uuid, data) -> {
+                        CACHED_AT.remove(uuid);
+                        changed(uuid);
+                    });
     private static final Set<UUID>                                        LOADING   = ConcurrentHashMap.newKeySet();
-    private static final Map<UUID, List<Consumer<CosmeticsApiResponse>>>  CALLBACKS = new ConcurrentHashMap<>();
+    private static final Map<UUID, List<Consumer<CosmeticsProfile>>>      CALLBACKS = new ConcurrentHashMap<>();
+    // Werden bei jeder Änderung eines Eintrags benachrichtigt (null = alle Einträge)
+    private static final List<Consumer<UUID>>                             LISTENERS = new CopyOnWriteArrayList<>();
 
-    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
     private static final Gson GSON = new Gson();
+    private static final TypeAdapter<CosmeticsApiResponse> ADAPTER = GSON.getAdapter(CosmeticsApiResponse.class);
+
+    private static final PersistentResponseCache DISK = new PersistentResponseCache("cosmetics");
+
+    // Einzel-Endpoint; der Batch-Endpoint hat seinen Breaker im BatchPipeline.Channel
+    private static final CircuitBreaker SINGLE   = new CircuitBreaker("cosmetics");
+    private static final NegativeCache  NEGATIVE = new NegativeCache("cosmetics", 2 * 60 * 1000L);
+
+    // Refresh nur für Spieler, die in dieser Sitzung als VoxelClient-Nutzer bestätigt sind
+    private static final RefreshScheduler.Domain REFRESH = new RefreshScheduler.Domain(
+            "cosmetics", CACHE_TTL_MS, CosmeticsApiClient::revalidate, VoxelClientNetwork::isVoxelUser);
+
+    // ── Batch-Channel ─────────────────────────────────────────────────────────
+    // Gesammelt wird zentral in BatchPipeline (gemeinsam mit Badges, ein Timer, ein Request).
+    private static final int BATCH_MAX_SIZE = 50;   // max UUIDs pro Batch-Request
+
+    private static final BatchPipeline.Channel BATCH = new BatchPipeline.Channel(
+            "cosmetics", BATCH_URL, BATCH_MAX_SIZE, TIMEOUT, new BatchPipeline.Decoder() {
+                @Override
+                public void read(UUID uuid, JsonReader reader) throws IOException {
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        reader.skipValue();
+                        missing(uuid);
+                        return;
+                    }
+                    // Direkt aus dem Stream in das typisierte Objekt, ohne Zwischenbaum
+                    CosmeticsApiResponse dto = ADAPTER.read(reader);
+                    CosmeticsProfile result = CosmeticsProfile.from(dto);
+                    LOADING.remove(uuid);
+                    long now = System.currentTimeMillis();
+                    RefreshScheduler.schedule(REFRESH, uuid, now);
+                    NEGATIVE.clear(uuid);
+                    CACHE.put(uuid, result);
+                    CACHED_AT.put(uuid, now);
+                    changed(uuid);
+                    // Batch-Antworten haben keine HTTP-Header pro UUID; ein optionales
+                    // "etag"-Feld im Eintrag wird als Validator übernommen.
+                    DISK.put(uuid, ADAPTER.toJson(dto), dto.etag, null);
+                    fireCallbacks(uuid, result);
+                }
 
-    // ── Batch-Sammler ─────────────────────────────────────────────────────────
-    // UUIDs werden gesammelt und alle BATCH_WINDOW_MS als ein einziger Request gesendet.
-    private static final long BATCH_WINDOW_MS = 1500L;
-    private static final int  BATCH_MAX_SIZE  = 50;   // max UUIDs pro Batch-Request
+                @Override
+                public void missing(UUID uuid) {
+                    LOADING.remove(uuid);
+                    RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+                    NEGATIVE.markMissing(uuid);
+                    fireCallbacks(uuid, null);
+                }
 
-    private static final Set<UUID> BATCH_PENDING = ConcurrentHashMap.newKeySet();
-    private static volatile ScheduledFuture<?> batchTimer = null;
-    private static final ScheduledExecutorService SCHEDULER =
-            Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "VoxelClient-BatchScheduler");
-                t.setDaemon(true);
-                return t;
-            });
+                @Override
+                public void notModified(UUID uuid) {
+                    PersistentResponseCache.Entry stored = DISK.touch(uuid);
+                    CosmeticsProfile known = CACHE.peek(uuid);
+                    if (known == null && stored != null) {
+                        known = CosmeticsProfile.from(GSON.fromJson(stored.body(), CosmeticsApiResponse.class));
+                    }
+                    if (known == null) {
+                        // Gespeicherte Antwort inzwischen weg → beim nächsten Versuch ohne ETag
+                        failed(uuid);
+                        return;
+                    }
+                    LOADING.remove(uuid);
+                    long now = System.currentTimeMillis();
+                    RefreshScheduler.schedule(REFRESH, uuid, now);
+                    NEGATIVE.clear(uuid);
+                    if (CACHE.peek(uuid) == null) {
+                        CACHE.put(uuid, known);
+                        changed(uuid);
+                    }
+                    CACHED_AT.put(uuid, now);
+                    fireCallbacks(uuid, known);
+                }
+
+                @Override
+                public void fail(UUID uuid) {
+                    failed(uuid);
+                }
+            }, CosmeticsApiClient::storedEtag);
+
+    // Push-Updates (falls verbunden) nutzen denselben Decoder wie der Batch
+    static {
+        PushChannel.register(BATCH, REFRESH, CosmeticsApiClient::revalidate);
+    }
 
     // ── Public API ────────────────────────────────────────────────────────────
 
-    public static CosmeticsApiResponse getCosmetics(UUID uuid) {
-        CosmeticsApiResponse cached = CACHE.get(uuid);
-        if (cached != null && !isExpired(uuid)) return cached;
-        prefetch(uuid);
-        return cached; // ggf. veraltete Daten zurückgeben bis Refresh fertig
+    /**
+     * Reiner Cache-Lookup (Render-Thread). Veraltete Daten werden weiter zurückgegeben,
+     * bis der RefreshScheduler sie im Hintergrund erneuert hat.
+     */
+    public static CosmeticsProfile getCosmetics(UUID uuid) {
+        return CACHE.get(uuid);
     }
 
     public static boolean isCached(UUID uuid) {
         return CACHE.containsKey(uuid);
     }
 
+    /** true solange die Cosmetics-API als ausgefallen gilt (Circuit offen). */
+    public static boolean isUnavailable() {
+        return SINGLE.isOpen() || BATCH.isOpen();
+    }
+
     /**
      * Fügt UUID in den Batch-Sammler ein.
      * Wird NICHT direkt für andere Spieler aufgerufen — nur nach Handshake-Bestätigung.
      */
     public static void prefetch(UUID uuid) {
         if (CACHE.containsKey(uuid) && !isExpired(uuid)) return;
-        if (!LOADING.add(uuid)) return;
-
-        BATCH_PENDING.add(uuid);
+        if (NEGATIVE.isBlocked(uuid)) return;
+        revalidate(uuid);
+    }
 
-        // Batch-Timer starten (wird resettet wenn innerhalb des Fensters neue UUIDs kommen)
-        if (batchTimer == null || batchTimer.isDone()) {
-            batchTimer = SCHEDULER.schedule(
-                    CosmeticsApiClient::flushBatch,
-                    BATCH_WINDOW_MS, TimeUnit.MILLISECONDS
-            );
-        }
+    /**
+     * Lädt einen Eintrag neu, unabhängig vom Alter (RefreshScheduler, Push-Invalidierung).
+     * Bekannte ETags reisen im Batch mit ({@link #storedEtag}); unveränderte Einträge
+     * kommen als "not_modified" zurück.
+     */
+    private static void revalidate(UUID uuid) {
+        if (!LOADING.add(uuid)) return;
 
-        // Sofort flushen wenn Batch-Limit erreicht
-        if (BATCH_PENDING.size() >= BATCH_MAX_SIZE) {
-            if (batchTimer != null) batchTimer.cancel(false);
-            SCHEDULER.execute(CosmeticsApiClient::flushBatch);
+        // Endpoint ausgefallen → gar nicht erst einreihen
+        if (BATCH.isOpen()) {
+            failed(uuid);
+            return;
         }
+        BatchPipeline.enqueue(BATCH, uuid);
     }
 
     /**
      * Lädt Daten für den eigenen Spieler sofort (kein Batch, kein Delay).
      * Callback wird aufgerufen sobald Daten da sind — auch wenn null (Fehler/nicht registriert).
      */
-    public static void fetchWithCallback(UUID uuid, Consumer<CosmeticsApiResponse> callback) {
-        CosmeticsApiResponse cached = CACHE.get(uuid);
+    public static void fetchWithCallback(UUID uuid, Consumer<CosmeticsProfile> callback) {
+        CosmeticsProfile cached = CACHE.peek(uuid);
         if (cached != null && !isExpired(uuid)) {
             callback.accept(cached);
             return;
         }
+        // Backoff läuft oder API ausgefallen → sofort antworten (ggf. mit veralteten Daten)
+        if (NEGATIVE.isBlocked(uuid) || SINGLE.isOpen()) {
+            callback.accept(cached);
+            return;
+        }
         CALLBACKS.computeIfAbsent(uuid, k -> new ArrayList<>()).add(callback);
         if (LOADING.add(uuid)) {
             // Direkter Einzelrequest, kein Batch
@@ -110,134 +214,175 @@ public class CosmeticsApiClient {
         }
     }
 
+    /**
+     * Spieler ist außer Sichtweite: Daten bleiben, werden aber bei Platzmangel zuerst verdrängt.
+     */
+    public static void demote(UUID uuid) {
+        CACHE.demote(uuid);
+    }
+
+    public static BoundedCache.Stats stats() {
+        return CACHE.stats();
+    }
+
     public static void invalidate(UUID uuid) {
         CACHE.remove(uuid);
         CACHED_AT.remove(uuid);
         LOADING.remove(uuid);
-        BATCH_PENDING.remove(uuid);
+        NEGATIVE.clear(uuid);
+        BatchPipeline.cancel(BATCH, uuid);
+        RefreshScheduler.cancel(REFRESH, uuid);
         CALLBACKS.remove(uuid);
+        changed(uuid);
     }
 
-    public static void clearCache() {
-        CACHE.clear();
-        CACHED_AT.clear();
-        LOADING.clear();
-        BATCH_PENDING.clear();
-        CALLBACKS.clear();
+    /**
+     * Wird aufgerufen, wenn sich die Daten eines Spielers ändern (neu geladen, entfernt,
+     * verdrängt) – mit null, wenn der ganze Cache betroffen ist. Beliebiger Thread.
+     */
+    public static void addChangeListener(Consumer<UUID> listener) {
+        LISTENERS.add(listener);
     }
 
-    // ── Batch-Logik ───────────────────────────────────────────────────────────
-
-    private static synchronized void flushBatch() {
-        if (BATCH_PENDING.isEmpty()) return;
-
-        Set<UUID> batch = new HashSet<>(BATCH_PENDING);
-        BATCH_PENDING.clear();
-
-        if (batch.isEmpty()) return;
-
-        List<UUID> uuids = new ArrayList<>(batch);
-        System.out.println("[VoxelClient] Cosmetics Batch-Request: " + uuids.size() + " UUIDs");
-
-        // JSON-Body bauen
-        JsonObject body = new JsonObject();
-        JsonArray arr = new JsonArray();
-        uuids.forEach(u -> arr.add(u.toString()));
-        body.add("uuids", arr);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BATCH_URL))
-                .timeout(TIMEOUT)
-                .header("Content-Type", "application/json")
-                .header("User-Agent", "VoxelClient/1.0")
-                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
-                .build();
-
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                HttpResponse<String> resp = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() == 200) {
-                    return resp.body();
-                }
-                System.err.println("[VoxelClient] Batch-API " + resp.statusCode());
-                return null;
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Batch-Fehler: " + e.getMessage());
-                return null;
-            }
-        }).handle((body2, ex) -> {
-            // Immer alle LOADING-Flags entfernen
-            uuids.forEach(LOADING::remove);
-
-            if (body2 == null) {
-                // Fehler → Callbacks mit null feuern
-                uuids.forEach(uuid -> fireCallbacks(uuid, null));
-                return null;
-            }
+    /**
+     * Liest den Disk-Cache einmalig beim Start ein. Die Einträge behalten ihren
+     * Speicher-Zeitstempel — was älter als die TTL ist, wird beim nächsten
+     * Zugriff revalidiert, aber bis dahin sofort angezeigt.
+     */
+    public static void loadPersisted() {
+        DISK.loadAsync((uuid, entry) -> {
             try {
-                // Response: { "uuid1": {...}, "uuid2": {...} }
-                JsonObject responseMap = GSON.fromJson(body2, JsonObject.class);
-                for (UUID uuid : uuids) {
-                    CosmeticsApiResponse result = null;
-                    if (responseMap.has(uuid.toString())) {
-                        result = GSON.fromJson(
-                                responseMap.get(uuid.toString()),
-                                CosmeticsApiResponse.class
-                        );
-                    }
-                    if (result != null) {
-                        CACHE.put(uuid, result);
-                        CACHED_AT.put(uuid, System.currentTimeMillis());
-                    }
-                    fireCallbacks(uuid, result);
-                }
+                CosmeticsProfile result = CosmeticsProfile.from(GSON.fromJson(entry.body(), CosmeticsApiResponse.class));
+                if (result == null) return;
+                CACHE.putIfAbsent(uuid, result);
+                CACHED_AT.putIfAbsent(uuid, entry.storedAt);
+                changed(uuid);
             } catch (Exception e) {
-                System.err.println("[VoxelClient] Batch-Parse-Fehler: " + e.getMessage());
-                uuids.forEach(uuid -> fireCallbacks(uuid, null));
+                DISK.remove(uuid);
             }
-            return null;
         });
     }
 
+    /**
+     * Markiert alle Einträge als veraltet, behält die Daten aber (Server-Wechsel).
+     * Renderer zeigen weiter die bekannten Cosmetics, während im Hintergrund
+     * revalidiert wird — statt alle Spieler von Null neu zu laden.
+     */
+    public static void expireAll() {
+        CACHED_AT.replaceAll((uuid, at) -> 0L);
+        LOADING.clear();
+        BatchPipeline.clear(BATCH);
+        RefreshScheduler.cancelAll(REFRESH);
+        CALLBACKS.clear();
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+        CACHED_AT.clear();
+        LOADING.clear();
+        NEGATIVE.clearAll();
+        BatchPipeline.clear(BATCH);
+        RefreshScheduler.cancelAll(REFRESH);
+        CALLBACKS.clear();
+        changed(null);
+    }
+
     // ── Einzelrequest ─────────────────────────────────────────────────────────
 
     private static void fetchSingle(UUID uuid) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + uuid))
-                .timeout(TIMEOUT)
-                .header("User-Agent", "VoxelClient/1.0")
+        if (!SINGLE.allowRequest()) {
+            failed(uuid);
+            return;
+        }
+        PersistentResponseCache.Entry stored = DISK.get(uuid);
+        HttpRequest request = PersistentResponseCache.applyValidators(
+                HttpGateway.request(BASE_URL + uuid).timeout(TIMEOUT), stored)
                 .GET().build();
 
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                HttpResponse<String> resp = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() == 200) {
-                    return GSON.fromJson(resp.body(), CosmeticsApiResponse.class);
-                }
-                System.err.println("[VoxelClient] Cosmetics API " + resp.statusCode() + " für " + uuid);
-                return null;
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Cosmetics-Fehler: " + e.getMessage());
-                return null;
-            }
+        // Breaker-Buchung genau einmal: Erfolg/HTTP-Status nach vollständiger Verarbeitung,
+        // Netzwerk- und Parse-Fehler nur in exceptionally
+        HttpGateway.send(request, HttpResponse.BodyHandlers.ofString()).thenApply(resp -> {
+            CosmeticsProfile result = handleSingle(uuid, stored, resp);
+            SINGLE.record(resp, null);
+            return result;
+        }).exceptionally(e -> {
+            System.err.println("[VoxelClient] Cosmetics-Fehler: " + e.getMessage());
+            SINGLE.onFailure();
+            backoff(uuid);
+            return null;
         }).handle((result, ex) -> {
             LOADING.remove(uuid);
             if (result != null) {
                 CACHE.put(uuid, result);
                 CACHED_AT.put(uuid, System.currentTimeMillis());
+                changed(uuid);
             }
-            fireCallbacks(uuid, result);
+            fireCallbacks(uuid, result != null ? result : CACHE.peek(uuid));
             return null;
         });
     }
 
+    /** Wertet die Einzel-Antwort aus (ohne Breaker-Buchung); wirft bei kaputtem JSON. */
+    private static CosmeticsProfile handleSingle(UUID uuid, PersistentResponseCache.Entry stored,
+                                                HttpResponse<String> resp) {
+        if (resp.statusCode() == 304 && stored != null) {
+            // Unverändert → gespeicherte Antwort weiterverwenden
+            NEGATIVE.clear(uuid);
+            DISK.touch(uuid);
+            RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+            CosmeticsProfile known = CACHE.peek(uuid);
+            return known != null ? known
+                    : CosmeticsProfile.from(GSON.fromJson(stored.body(), CosmeticsApiResponse.class));
+        }
+        if (resp.statusCode() == 200) {
+            CosmeticsProfile result = CosmeticsProfile.from(GSON.fromJson(resp.body(), CosmeticsApiResponse.class));
+            if (result != null) {
+                NEGATIVE.clear(uuid);
+                DISK.put(uuid, resp.body(), resp.headers());
+            } else {
+                NEGATIVE.markMissing(uuid);
+            }
+            RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+            return result;
+        }
+        if (resp.statusCode() == 404) {
+            // Spieler hat keine Cosmetics → kurz merken statt ständig neu zu fragen
+            NEGATIVE.markMissing(uuid);
+            RefreshScheduler.schedule(REFRESH, uuid, System.currentTimeMillis());
+            return null;
+        }
+        System.err.println("[VoxelClient] Cosmetics API " + resp.statusCode() + " für " + uuid);
+        backoff(uuid);
+        return null;
+    }
+
     // ── Hilfsmethoden ─────────────────────────────────────────────────────────
 
-    private static void fireCallbacks(UUID uuid, CosmeticsApiResponse result) {
-        List<Consumer<CosmeticsApiResponse>> cbs = CALLBACKS.remove(uuid);
+    /** Request nicht möglich oder fehlgeschlagen: Backoff starten, Wartende mit Altdaten bedienen. */
+    private static void failed(UUID uuid) {
+        LOADING.remove(uuid);
+        backoff(uuid);
+        fireCallbacks(uuid, CACHE.peek(uuid));
+    }
+
+    private static void backoff(UUID uuid) {
+        RefreshScheduler.retry(REFRESH, uuid, NEGATIVE.markFailed(uuid));
+    }
+
+    private static void fireCallbacks(UUID uuid, CosmeticsProfile result) {
+        List<Consumer<CosmeticsProfile>> cbs = CALLBACKS.remove(uuid);
         if (cbs != null) cbs.forEach(cb -> cb.accept(result));
     }
 
+    private static String storedEtag(UUID uuid) {
+        PersistentResponseCache.Entry stored = DISK.get(uuid);
+        return stored != null ? stored.etag : null;
+    }
+
+    private static void changed(UUID uuid) {
+        for (Consumer<UUID> listener : LISTENERS) listener.accept(uuid);
+    }
+
     private static boolean isExpired(UUID uuid) {
         Long at = CACHED_AT.get(uuid);
         return at == null || (System.currentTimeMillis() - at) > CACHE_TTL_MS;
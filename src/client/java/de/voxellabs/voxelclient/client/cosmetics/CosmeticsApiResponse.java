@@ -10,6 +10,9 @@ import java.util.Map;
  *  - owned_item_ids: alle Item-IDs die dieser Spieler besitzt
  *  - active: welches Item pro Typ gerade aktiv ist
  *
+ * Reines JSON-DTO: beim Laden wird es einmal in {@link CosmeticsProfile} umgewandelt,
+ * Renderer und UI lesen nur diese kompakte Form.
+ *
  * JSON-Struktur:
  * {
  *   "uuid": "...",
@@ -28,6 +31,7 @@ public class CosmeticsApiResponse {
     public List<Integer> owned_item_ids;   // Cosmetic-Items die der Spieler besitzt
     public List<Integer> owned_badge_ids;  // Badges die der Spieler besitzt
     public Map<String, ActiveState> active;
+    public String        etag;             // optional, nur in Batch-Antworten (Validator für den Disk-Cache)
 
     public static class ActiveState {
         public Integer item_id;  // null = kein aktives Item
@@ -1,6 +1,14 @@
 package de.voxellabs.voxelclient.client.cosmetics;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Antwort von GET /api/cosmetics/catalog
@@ -8,8 +16,20 @@ import java.util.List;
  * Enthält ALLE verfügbaren Cosmetic-Typen und deren Items.
  * Wird einmalig beim Start gecacht und dann für alle Spieler genutzt.
  *
+ * Nach dem Parsen friert {@link #freeze()} den Katalog zu einem unveränderlichen,
+ * indizierten Snapshot ein: ID → Item über eine Open-Addressing-Tabelle, Items pro
+ * Typ als fertige Listen, URL und Trail-ID pro Item vorab aufgelöst. Renderer, die
+ * pro Spieler und Frame nachschlagen, machen damit nur noch einen Array-Zugriff.
+ * Ein Reload erzeugt einen neuen Snapshot, der per volatile-Referenz im
+ * {@link CosmeticsCatalogClient} ausgetauscht wird – Leser brauchen keine Locks.
+ *
+ * Delta-Antworten ({@code GET ...?since=<version>}) haben {@code "delta": true}, enthalten
+ * nur neue/geänderte Typen und Items und optional {@code "removed_item_ids"};
+ * {@link #applyDelta} baut daraus einen neuen Katalog, der alte bleibt unverändert.
+ *
  * JSON-Struktur:
  * {
+ *   "version": "42",
  *   "types": [
  *     {
  *       "id": 1, "name": "cape", "display": "Cape", "description": "Umhang",
@@ -24,6 +44,9 @@ import java.util.List;
  */
 public class CosmeticsCatalog {
 
+    public String            version;          // optional, Katalog-Version für Delta-Abfragen
+    public boolean           delta;            // nur in Delta-Antworten gesetzt
+    public List<Integer>     removed_item_ids; // nur in Delta-Antworten gesetzt
     public List<CatalogType> types;
 
     public static class CatalogType {
@@ -32,6 +55,13 @@ public class CosmeticsCatalog {
         public String display;
         public String description;
         public List<CatalogItem> items;
+
+        CatalogType copyWithItems(List<CatalogItem> newItems) {
+            CatalogType t = new CatalogType();
+            t.id = id; t.name = name; t.display = display; t.description = description;
+            t.items = newItems;
+            return t;
+        }
     }
 
     public static class CatalogItem {
@@ -41,34 +71,185 @@ public class CosmeticsCatalog {
         public String url;          // CDN-URL zur Vorschau-Textur (null bei Trails)
         public String trail_id;     // Partikel-ID, nur bei Trail-Items gesetzt
         public String description;
+
+        // Vorab aufgelöst in freeze() – transient, damit Gson sie ignoriert
+        private transient String       textureUrl;
+        private transient String       trailId;
+        private transient CosmeticSlot slot;
+
+        /** Textur-URL, oder null wenn keine (leer/fehlend) vorhanden ist. */
+        public String textureUrl() { return textureUrl; }
+
+        /** Partikel-ID für Trails, oder null. */
+        public String trailId() { return trailId; }
+
+        /** Slot des Typs, zu dem das Item gehört (null bei unbekannten Typen). */
+        public CosmeticSlot slot() { return slot; }
+
+        CatalogItem copy() {
+            CatalogItem i = new CatalogItem();
+            i.id = id; i.name = name; i.display = display;
+            i.url = url; i.trail_id = trail_id; i.description = description;
+            return i;
+        }
     }
 
-    /** Gibt alle Items eines bestimmten Typs zurück (per type name: "cape", "halo", ...) */
-    public List<CatalogItem> getItemsForType(String typeName) {
-        if (types == null) return List.of();
-        for (CatalogType type : types) {
-            if (typeName.equals(type.name)) {
-                return type.items != null ? type.items : List.of();
+    // ── Index (wird in freeze() aufgebaut) ────────────────────────────────────
+
+    private transient int[]         indexIds;    // Open Addressing, 0 = leer
+    private transient CatalogItem[] indexItems;
+    private transient int           indexMask;
+    private transient Map<String, List<CatalogItem>> itemsByType = Map.of();
+    private transient List<CatalogItem>[]            itemsBySlot;
+    private transient boolean       empty = true;
+
+    /**
+     * Baut den Index auf und macht alle Listen unveränderlich. Muss vor dem
+     * Veröffentlichen genau einmal aufgerufen werden; gibt {@code this} zurück.
+     */
+    @SuppressWarnings("unchecked")
+    public CosmeticsCatalog freeze() {
+        List<CatalogType> frozenTypes = new ArrayList<>();
+        Map<String, List<CatalogItem>> byType = new HashMap<>();
+        List<CatalogItem>[] bySlot = new List[CosmeticSlot.count()];
+        Arrays.fill(bySlot, List.of());
+        List<CatalogItem> all = new ArrayList<>();
+
+        if (types != null) {
+            for (CatalogType type : types) {
+                if (type == null) continue;
+                CosmeticSlot slot = type.name != null ? CosmeticSlot.fromKey(type.name) : null;
+                List<CatalogItem> items = new ArrayList<>();
+                if (type.items != null) {
+                    for (CatalogItem item : type.items) {
+                        if (item == null) continue;
+                        item.textureUrl = item.url != null && !item.url.isBlank() ? item.url : null;
+                        item.trailId    = item.trail_id != null && !item.trail_id.isBlank() ? item.trail_id : null;
+                        item.slot       = slot;
+                        items.add(item);
+                    }
+                }
+                type.items = Collections.unmodifiableList(items);
+                frozenTypes.add(type);
+                all.addAll(items);
+                if (type.name != null) byType.putIfAbsent(type.name, type.items);
+                if (slot != null && bySlot[slot.ordinal()].isEmpty()) bySlot[slot.ordinal()] = type.items;
+            }
+        }
+
+        // Kapazität: nächste Zweierpotenz ≥ 2 × Anzahl → Ladefaktor ≤ 0,5
+        int capacity = Integer.highestOneBit(Math.max(2, all.size() * 2 - 1)) << 1;
+        int[] ids = new int[capacity];
+        CatalogItem[] slots = new CatalogItem[capacity];
+        int mask = capacity - 1;
+        for (CatalogItem item : all) {
+            if (item.id == 0) continue; // 0 steht für "kein Item"
+            int i = mix(item.id) & mask;
+            while (ids[i] != 0 && ids[i] != item.id) i = (i + 1) & mask;
+            if (ids[i] == 0) { // bei doppelten IDs gewinnt – wie bisher – das erste Vorkommen
+                ids[i] = item.id;
+                slots[i] = item;
             }
         }
-        return List.of();
+
+        this.types       = Collections.unmodifiableList(frozenTypes);
+        this.indexIds    = ids;
+        this.indexItems  = slots;
+        this.indexMask   = mask;
+        this.itemsByType = Map.copyOf(byType);
+        this.itemsBySlot = bySlot;
+        this.empty       = all.isEmpty();
+        return this;
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Wendet ein Delta auf diesen (eingefrorenen) Katalog an und gibt einen neuen,
+     * ebenfalls eingefrorenen Katalog zurück. Typen werden per ID zusammengeführt,
+     * Items per ID ersetzt oder angehängt; {@code removed_item_ids} fliegen raus.
+     * Items werden kopiert, damit freeze() keine Objekte des alten Snapshots anfasst.
+     */
+    public CosmeticsCatalog applyDelta(CosmeticsCatalog delta) {
+        Set<Integer> removed = delta.removed_item_ids != null
+                ? new HashSet<>(delta.removed_item_ids) : Set.of();
+        Map<Integer, CatalogType> changedTypes = new LinkedHashMap<>();
+        if (delta.types != null) {
+            for (CatalogType t : delta.types) if (t != null) changedTypes.put(t.id, t);
+        }
+
+        List<CatalogType> merged = new ArrayList<>();
+        for (CatalogType old : types) {
+            CatalogType change = changedTypes.remove(old.id);
+            Map<Integer, CatalogItem> items = new LinkedHashMap<>();
+            for (CatalogItem item : old.items) {
+                if (!removed.contains(item.id)) items.put(item.id, item.copy());
+            }
+            CatalogType base = old;
+            if (change != null) {
+                if (change.items != null) {
+                    for (CatalogItem item : change.items) {
+                        if (item != null && !removed.contains(item.id)) items.put(item.id, item.copy());
+                    }
+                }
+                base = change.copyWithItems(null);
+                if (base.name == null)        base.name = old.name;
+                if (base.display == null)     base.display = old.display;
+                if (base.description == null) base.description = old.description;
+            }
+            merged.add(base.copyWithItems(new ArrayList<>(items.values())));
+        }
+        merged.addAll(changedTypes.values()); // neue Typen
+
+        CosmeticsCatalog result = new CosmeticsCatalog();
+        result.version = delta.version != null ? delta.version : version;
+        result.types   = merged;
+        return result.freeze();
+    }
+
+    // ── Lookups ───────────────────────────────────────────────────────────────
+
+    /** Gibt alle Items eines bestimmten Typs zurück (per type name: "cape", "halo", ...) */
+    public List<CatalogItem> getItemsForType(String typeName) {
+        List<CatalogItem> items = itemsByType.get(typeName);
+        return items != null ? items : List.of();
+    }
+
+    /** Gibt alle Items eines Slots zurück. */
+    public List<CatalogItem> getItemsForSlot(CosmeticSlot slot) {
+        return itemsBySlot != null ? itemsBySlot[slot.ordinal()] : List.of();
     }
 
     /** Findet ein Item anhand seiner ID */
     public CatalogItem findItem(int itemId) {
-        if (types == null) return null;
-        for (CatalogType type : types) {
-            if (type.items == null) continue;
-            for (CatalogItem item : type.items) {
-                if (item.id == itemId) return item;
-            }
+        int[] ids = indexIds;
+        if (ids == null || itemId == 0) return null;
+        int i = mix(itemId) & indexMask;
+        while (true) {
+            int id = ids[i];
+            if (id == itemId) return indexItems[i];
+            if (id == 0) return null;
+            i = (i + 1) & indexMask;
         }
-        return null;
+    }
+
+    /** Textur-URL eines Items, oder null wenn unbekannt oder ohne URL. */
+    public String textureUrl(int itemId) {
+        CatalogItem item = findItem(itemId);
+        return item != null ? item.textureUrl : null;
+    }
+
+    /** Trail-ID eines Items, oder null wenn unbekannt oder kein Trail. */
+    public String trailId(int itemId) {
+        CatalogItem item = findItem(itemId);
+        return item != null ? item.trailId : null;
     }
 
     /** Prüft ob der Katalog tatsächlich Items enthält */
     public boolean isEmpty() {
-        if (types == null || types.isEmpty()) return true;
-        return types.stream().allMatch(t -> t.items == null || t.items.isEmpty());
+        return empty;
     }
-}
\ No newline at end of file
+}
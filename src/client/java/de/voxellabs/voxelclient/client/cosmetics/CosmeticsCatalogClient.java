@@ -1,109 +1,92 @@
 package de.voxellabs.voxelclient.client.cosmetics;
 
 import com.google.gson.Gson;
+import de.voxellabs.voxelclient.client.utils.CatalogService;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
- * Lädt den globalen Cosmetics-Katalog (alle verfügbaren Items) einmalig.
+ * Globaler Cosmetics-Katalog (alle verfügbaren Items).
  *
- * Endpoint: GET /api/cosmetics/catalog
+ * Endpoint: GET /api/cosmetics/catalog[?since=<version>]
  *
  * Nutzung:
+ *   CosmeticsCatalogClient.loadPersisted();                  // einmal beim Start, synchron
  *   CosmeticsCatalogClient.fetch(catalog -> { ... });
- *   CosmeticsCatalog catalog = CosmeticsCatalogClient.get(); // null solange ladeend
+ *   CosmeticsCatalog catalog = CosmeticsCatalogClient.get(); // null solange nichts geladen
+ *
+ * Der letzte Katalog liegt auf der Platte und steht damit ohne Netzwerk bereit; pro
+ * Session wird er genau einmal per ETag/Version mit dem Server abgeglichen (siehe
+ * {@link CatalogService}). Schlägt das fehl, wird mit Backoff erneut versucht; ist der
+ * Circuit offen, liefert {@link #isUnavailable()} true.
  */
 public class CosmeticsCatalogClient {
 
     private static final String CATALOG_URL = "https://api.voxellabs.de/api/cosmetics/catalog";
-    private static final Duration TIMEOUT   = Duration.ofSeconds(10);
 
     private static final Gson GSON = new Gson();
-    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
 
-    private static volatile CosmeticsCatalog CACHE   = null;
-    private static final AtomicBoolean       LOADING = new AtomicBoolean(false);
-    private static final List<Consumer<CosmeticsCatalog>> CALLBACKS = new ArrayList<>();
+    private static final CatalogService<CosmeticsCatalog> SERVICE = new CatalogService<>(
+            "cosmetics", CATALOG_URL, new CatalogService.Codec<>() {
+                @Override
+                public CosmeticsCatalog parse(String body, CosmeticsCatalog previous) {
+                    CosmeticsCatalog parsed = GSON.fromJson(body, CosmeticsCatalog.class);
+                    if (parsed == null) return null;
+                    return parsed.delta && previous != null ? previous.applyDelta(parsed) : parsed.freeze();
+                }
 
-    /** Gibt den gecachten Katalog zurück, oder null wenn noch nicht geladen. */
+                @Override
+                public String serialize(CosmeticsCatalog catalog) {
+                    return GSON.toJson(catalog);
+                }
+
+                @Override
+                public String version(CosmeticsCatalog catalog) {
+                    return catalog.version;
+                }
+
+                @Override
+                public int size(CosmeticsCatalog catalog) {
+                    return catalog.types.size();
+                }
+            }, 3);
+
+    /**
+     * Gibt den gecachten Katalog zurück, oder null wenn noch nicht geladen.
+     * Der Katalog ist ein eingefrorener Snapshot und darf ohne Lock gelesen werden.
+     */
     public static CosmeticsCatalog get() {
-        return CACHE;
+        return SERVICE.get();
     }
 
     public static boolean isLoaded() {
-        return CACHE != null;
+        return SERVICE.isLoaded();
     }
 
     public static boolean isLoading() {
-        return LOADING.get();
+        return SERVICE.isLoading();
+    }
+
+    /** true solange die Katalog-API als ausgefallen gilt (Circuit offen). */
+    public static boolean isUnavailable() {
+        return SERVICE.isUnavailable();
+    }
+
+    /** Liest den zuletzt gespeicherten Katalog synchron von der Platte (kein Netzwerk). */
+    public static void loadPersisted() {
+        SERVICE.loadPersisted();
     }
 
     /**
-     * Lädt den Katalog asynchron und ruft danach den Callback auf.
-     * Falls bereits gecacht, wird der Callback sofort aufgerufen.
-     * Mehrere Callbacks werden gesammelt und zusammen ausgeführt.
+     * Ruft den Callback mit dem Katalog auf – sofort, falls bereits vorhanden.
+     * Stößt beim ersten Aufruf den einmaligen Abgleich mit dem Server an.
      */
-    public static synchronized void fetch(Consumer<CosmeticsCatalog> callback) {
-        if (CACHE != null) {
-            callback.accept(CACHE);
-            return;
-        }
-        CALLBACKS.add(callback);
-        if (LOADING.compareAndSet(false, true)) {
-            fetchAsync();
-        }
+    public static void fetch(Consumer<CosmeticsCatalog> callback) {
+        SERVICE.fetch(callback);
     }
 
     /** Löscht den Cache (z.B. nach einem Reload). */
-    public static synchronized void invalidate() {
-        CACHE   = null;
-        LOADING.set(false);
-        CALLBACKS.clear();
-    }
-
-    private static void fetchAsync() {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(CATALOG_URL))
-                .timeout(TIMEOUT)
-                .header("User-Agent", "VoxelClient/1.0")
-                .header("Accept",     "application/json")
-                .GET()
-                .build();
-
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
-                if (response.statusCode() == 200) {
-                    CosmeticsCatalog catalog = GSON.fromJson(response.body(), CosmeticsCatalog.class);
-                    System.out.println("[VoxelClient] Cosmetics-Katalog geladen: "
-                            + (catalog.types != null ? catalog.types.size() : 0) + " Typen");
-                    return catalog;
-                }
-                System.err.println("[VoxelClient] Catalog API " + response.statusCode());
-                return null;
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Catalog-Fehler: " + e.getMessage());
-                return null;
-            }
-        }).thenAccept(result -> {
-            synchronized (CosmeticsCatalogClient.class) {
-                LOADING.set(false);
-                if (result != null) {
-                    CACHE = result;
-                    List<Consumer<CosmeticsCatalog>> cbs = new ArrayList<>(CALLBACKS);
-                    CALLBACKS.clear();
-                    cbs.forEach(cb -> cb.accept(result));
-                }
-            }
-        });
+    public static void invalidate() {
+        SERVICE.invalidate();
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,13 @@ package de.voxellabs.voxelclient.client.cosmetics;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import de.voxellabs.voxelclient.client.cosmetics.utility.WebTextureLoader;
+import de.voxellabs.voxelclient.client.utils.BoundedCache;
+import de.voxellabs.voxelclient.client.utils.HttpGateway;
+import de.voxellabs.voxelclient.client.utils.TextureRegistry;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.texture.NativeImage;
-import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.util.Identifier;
 
-import java.io.InputStream;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Map;
@@ -38,9 +37,14 @@ public class CosmeticsManager {
             "voxelclient.api.url", "https://api.voxellabs.de"
     );
 
-    private static final Map<String, PlayerCosmetics> cache        = new ConcurrentHashMap<>();
-    private static final Map<String, Boolean>         loading      = new ConcurrentHashMap<>();
-    private static final Map<String, Identifier>      capeTextures = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean>                 loading      = new ConcurrentHashMap<>();
+    private static final BoundedCache<String, PlayerCosmetics> cache       =
+            new BoundedCache<>("cosmetics-manager", 1000, 30 * 60 * 1000L, 256);
+    // Verdrängte Capes geben ihre Referenz frei; zerstört wird die Textur erst,
+    // wenn das VRAM-Budget der TextureRegistry es verlangt (64×32 RGBA ≈ 8 KB)
+    private static final BoundedCache<String, TextureRegistry.Handle> capeTextures =
+            new BoundedCache<String, TextureRegistry.Handle>("cape-textures", 256, 15 * 60 * 1000L, 8 * 1024)
+                    .onRemoval((uuid, handle) -> handle.close());
 
     // ── Öffentliche API ───────────────────────────────────────────────────────
 
@@ -50,8 +54,8 @@ public class CosmeticsManager {
         if (loading.getOrDefault(uuid, false)) return;
         loading.put(uuid, true);
 
-        CompletableFuture.supplyAsync(() -> fetchJson(uuid))
-                .thenAcceptAsync(json -> {
+        fetchJson(uuid)
+                .thenAccept(json -> {
                     loading.put(uuid, false);
                     if (json == null) return;
                     PlayerCosmetics cosmetics = parse(uuid, json);
@@ -68,22 +72,24 @@ public class CosmeticsManager {
     public static Identifier getCapeTexture(String uuid) {
         PlayerCosmetics c = cache.get(uuid);
         if (c == null || !c.capeEnabled) return null;
-        return capeTextures.get(uuid);
+        TextureRegistry.Handle handle = capeTextures.get(uuid);
+        return handle != null ? handle.id() : null;
     }
 
     public static void evict(UUID uuid)   { evict(uuid.toString()); }
     public static void evict(String uuid) {
         cache.remove(uuid);
         loading.remove(uuid);
-        Identifier id = capeTextures.remove(uuid);
-        if (id != null)
-            MinecraftClient.getInstance().execute(() ->
-                    MinecraftClient.getInstance().getTextureManager().destroyTexture(id));
+        capeTextures.remove(uuid); // Textur wird im Removal-Listener freigegeben
+    }
+
+    /** Spieler außer Sichtweite: Daten und Cape bleiben, werden aber zuerst verdrängt. */
+    public static void demote(UUID uuid) {
+        cache.demote(uuid.toString());
+        capeTextures.demote(uuid.toString());
     }
 
     public static void clearCache() {
-        MinecraftClient mc = MinecraftClient.getInstance();
-        mc.execute(() -> capeTextures.values().forEach(mc.getTextureManager()::destroyTexture));
         cache.clear(); loading.clear(); capeTextures.clear();
     }
 
@@ -92,22 +98,19 @@ public class CosmeticsManager {
 
     // ── Intern ────────────────────────────────────────────────────────────────
 
-    private static JsonObject fetchJson(String uuid) {
-        try {
-            HttpClient http = HttpClient.newHttpClient();
-            HttpRequest req = HttpRequest.newBuilder(
-                            URI.create(API_BASE + "/api/cosmetics/" + uuid))
-                    .GET().header("Accept", "application/json").build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+    private static CompletableFuture<JsonObject> fetchJson(String uuid) {
+        HttpRequest req = HttpGateway.request(API_BASE + "/api/cosmetics/" + uuid)
+                .GET().header("Accept", "application/json").build();
+        return HttpGateway.send(req, HttpResponse.BodyHandlers.ofString()).thenApply(resp -> {
             if (resp.statusCode() != 200) {
                 System.err.println("[VoxelClient] Cosmetics API " + resp.statusCode() + " für " + uuid);
-                return null;
+                return (JsonObject) null;
             }
             return JsonParser.parseString(resp.body()).getAsJsonObject();
-        } catch (Exception e) {
+        }).exceptionally(e -> {
             System.err.println("[VoxelClient] Cosmetics Fehler: " + e.getMessage());
             return null;
-        }
+        });
     }
 
     private static PlayerCosmetics parse(String uuid, JsonObject root) {
@@ -136,24 +139,17 @@ public class CosmeticsManager {
     }
 
     private static void downloadCape(String uuid, String url) {
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                HttpClient http = HttpClient.newHttpClient();
-                HttpResponse<InputStream> resp = http.send(
-                        HttpRequest.newBuilder(URI.create(url)).GET().build(),
-                        HttpResponse.BodyHandlers.ofInputStream());
-                if (resp.statusCode() != 200) return null;
-                return NativeImage.read(resp.body());
-            } catch (Exception e) { return null; }
-        }).thenAcceptAsync(image -> {
-            if (image == null) return;
-            Identifier id = Identifier.of("voxelclient", "cape_" + uuid.replace("-", ""));
-            MinecraftClient mc = MinecraftClient.getInstance();
-            mc.execute(() -> {
-                mc.getTextureManager().registerTexture(id, new NativeImageBackedTexture(image));
-                capeTextures.put(uuid, id);
-            });
-        });
+        // Geteilt pro URL: viele Spieler mit demselben Cape → ein Download, eine Textur
+        WebTextureLoader.load(url, CosmeticSlot.CAPE.textureLimits())
+                .whenCompleteAsync((registered, error) -> {
+                    if (error != null) return;
+                    // Render-Thread; put() meldet Ersetzen nicht → alte Referenz selbst freigeben
+                    TextureRegistry.Handle handle = TextureRegistry.retain(registered);
+                    if (handle == null) return;
+                    TextureRegistry.Handle old = capeTextures.peek(uuid);
+                    capeTextures.put(uuid, handle);
+                    if (old != null) old.close();
+                }, MinecraftClient.getInstance());
     }
 
     // ── Datenklasse ───────────────────────────────────────────────────────────
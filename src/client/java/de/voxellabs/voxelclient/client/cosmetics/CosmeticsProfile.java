@@ -0,0 +1,94 @@
+package de.voxellabs.voxelclient.client.cosmetics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kompakte, unveränderliche Form von {@link CosmeticsApiResponse}.
+ *
+ * Das JSON-DTO wird beim Laden genau einmal hierhin umgewandelt; Renderer und
+ * ClientModScreen lesen nur noch diese Form:
+ *   - besessene Item-/Badge-IDs als sortiertes {@code int[]} → Binärsuche statt
+ *     {@code List<Integer>.contains} mit Boxing
+ *   - aktive Items als {@code int[]} indiziert über {@link CosmeticSlot#ordinal()} →
+ *     ein Array-Zugriff statt String-Hash pro Frame
+ */
+public final class CosmeticsProfile {
+
+    private static final int[] NONE = new int[0];
+
+    public static final CosmeticsProfile EMPTY =
+            new CosmeticsProfile(NONE, NONE, new int[CosmeticSlot.count()], 0);
+
+    private final int[] ownedItems;   // sortiert
+    private final int[] ownedBadges;  // sortiert
+    private final int[] activeItems;  // Index = CosmeticSlot.ordinal(), 0 = kein Item
+    private final int   enabledMask;  // Bit = CosmeticSlot.ordinal()
+
+    private CosmeticsProfile(int[] ownedItems, int[] ownedBadges, int[] activeItems, int enabledMask) {
+        this.ownedItems = ownedItems;
+        this.ownedBadges = ownedBadges;
+        this.activeItems = activeItems;
+        this.enabledMask = enabledMask;
+    }
+
+    /** Wandelt die API-Antwort um. Unbekannte Slot-Namen werden ignoriert. */
+    public static CosmeticsProfile from(CosmeticsApiResponse dto) {
+        if (dto == null) return null;
+
+        int[] active = new int[CosmeticSlot.count()];
+        int enabled = 0;
+        if (dto.active != null) {
+            for (Map.Entry<String, CosmeticsApiResponse.ActiveState> e : dto.active.entrySet()) {
+                CosmeticSlot slot = CosmeticSlot.fromKey(e.getKey());
+                CosmeticsApiResponse.ActiveState state = e.getValue();
+                if (slot == null || state == null) continue;
+                active[slot.ordinal()] = state.item_id != null ? state.item_id : 0;
+                if (state.enabled) enabled |= 1 << slot.ordinal();
+            }
+        }
+        return new CosmeticsProfile(sortedIds(dto.owned_item_ids), sortedIds(dto.owned_badge_ids), active, enabled);
+    }
+
+    // ── Abfragen ──────────────────────────────────────────────────────────────
+
+    public boolean ownsItem(int itemId) {
+        return Arrays.binarySearch(ownedItems, itemId) >= 0;
+    }
+
+    public boolean ownsBadge(int badgeId) {
+        return Arrays.binarySearch(ownedBadges, badgeId) >= 0;
+    }
+
+    /** Aktive Item-ID im Slot (0 = keine). */
+    public int activeItemId(CosmeticSlot slot) {
+        return activeItems[slot.ordinal()];
+    }
+
+    public boolean isEnabled(CosmeticSlot slot) {
+        return (enabledMask & (1 << slot.ordinal())) != 0;
+    }
+
+    public boolean isItemActive(CosmeticSlot slot, int itemId) {
+        return activeItems[slot.ordinal()] == itemId;
+    }
+
+    public int ownedItemCount() {
+        return ownedItems.length;
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private static int[] sortedIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return NONE;
+        int[] out = new int[ids.size()];
+        int n = 0;
+        for (Integer id : ids) {
+            if (id != null) out[n++] = id;
+        }
+        out = Arrays.copyOf(out, n);
+        Arrays.sort(out);
+        return out;
+    }
+}
@@ -0,0 +1,18 @@
+package de.voxellabs.voxelclient.client.cosmetics;
+
+import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
+
+/**
+ * Zusatzfeld am {@link PlayerEntityRenderState} (implementiert von PlayerRenderStateMixin):
+ * der in updateRenderState aufgelöste {@link CosmeticsSnapshot}.
+ */
+public interface CosmeticsRenderState {
+
+    CosmeticsSnapshot voxelclient$getCosmetics();
+
+    void voxelclient$setCosmetics(CosmeticsSnapshot snapshot);
+
+    static CosmeticsSnapshot of(PlayerEntityRenderState state) {
+        return ((CosmeticsRenderState) state).voxelclient$getCosmetics();
+    }
+}
@@ -0,0 +1,80 @@
+package de.voxellabs.voxelclient.client.cosmetics;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import de.voxellabs.voxelclient.client.cosmetics.atlas.CosmeticsAtlas;
+import de.voxellabs.voxelclient.client.cosmetics.renderer.CosmeticsClock;
+import de.voxellabs.voxelclient.client.cosmetics.renderer.CosmeticsLod;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.util.Identifier;
+
+import java.util.UUID;
+
+/**
+ * Aufgelöste Cosmetics eines Spielers für genau einen Frame.
+ *
+ * Wird in {@code PlayerEntityRenderer.updateRenderState} einmal pro Spieler gebaut
+ * (CosmeticsStateMixin) und direkt am RenderState abgelegt ({@link CosmeticsRenderState}).
+ * Die Feature-Renderer lesen nur noch diese Felder – keine Map-Lookups, keine URLs,
+ * keine Katalog-Zugriffe mehr im Render-Pfad.
+ *
+ * Ein Sprite ist null, solange das Item nicht aktiv ist, seine Textur noch lädt oder der
+ * Spieler laut {@link CosmeticsLod} zu klein auf dem Bildschirm ist. {@code animated} ist
+ * false auf mittlerer Distanz (statische Pose); {@code phase} ist der Animations-Versatz
+ * des Spielers für die {@link CosmeticsClock}.
+ */
+public record CosmeticsSnapshot(UUID uuid,
+                                CosmeticsAtlas.Sprite halo,
+                                CosmeticsAtlas.Sprite wings,
+                                Identifier cape,
+                                boolean animated,
+                                int phase) {
+
+    /** Nichts zu rendern – geteilte Instanz, damit Spieler ohne Cosmetics nichts allokieren. */
+    public static final CosmeticsSnapshot NONE = new CosmeticsSnapshot(null, null, null, null, false, 0);
+
+    public boolean isEmpty() {
+        return halo == null && wings == null && cape == null;
+    }
+
+    /**
+     * Löst die aktiven Items eines Spielers auf:
+     *   Eigener Spieler → aktive Items aus VoxelClientConfig (lokale Auswahl im Menü)
+     *   Andere Spieler  → aktive Items aus dem CosmeticsProfile (Server)
+     * und schlägt die Texturen im Katalog bzw. Atlas nach (stößt ggf. das Laden an).
+     * {@code squaredDistance}/{@code height} stammen aus dem RenderState und bestimmen die LOD-Stufe.
+     */
+    public static CosmeticsSnapshot resolve(UUID uuid, double squaredDistance, float height) {
+        MinecraftClient mc = MinecraftClient.getInstance();
+        boolean isOwnPlayer = mc.player != null && mc.player.getUuid().equals(uuid);
+
+        CosmeticsProfile profile = null;
+        if (!isOwnPlayer) {
+            profile = CosmeticsApiClient.getCosmetics(uuid);
+            if (profile == null) return NONE;
+        }
+
+        // Cape zeichnet Vanilla (nur Textur ersetzt) → unabhängig von der LOD-Stufe
+        CosmeticsLod.Level lod = CosmeticsLod.of(squaredDistance, height);
+        CosmeticsCatalog catalog = CosmeticsCatalogClient.get();
+        CosmeticsAtlas.Sprite halo  = null, wings = null;
+        if (catalog != null && lod != CosmeticsLod.Level.CULLED) {
+            halo  = sprite(catalog, activeItem(CosmeticSlot.HALO,  isOwnPlayer, profile), CosmeticSlot.HALO);
+            wings = sprite(catalog, activeItem(CosmeticSlot.WINGS, isOwnPlayer, profile), CosmeticSlot.WINGS);
+        }
+        Identifier cape = CosmeticsManager.getCapeTexture(uuid);
+
+        if (halo == null && wings == null && cape == null) return NONE;
+        return new CosmeticsSnapshot(uuid, halo, wings, cape, lod == CosmeticsLod.Level.FULL,
+                CosmeticsClock.phaseOf(uuid.hashCode()));
+    }
+
+    private static int activeItem(CosmeticSlot slot, boolean isOwnPlayer, CosmeticsProfile profile) {
+        return isOwnPlayer ? VoxelClientConfig.get().getActiveItemId(slot) : profile.activeItemId(slot);
+    }
+
+    private static CosmeticsAtlas.Sprite sprite(CosmeticsCatalog catalog, int itemId, CosmeticSlot slot) {
+        if (itemId == 0) return null; // kein Item aktiv
+        String url = catalog.textureUrl(itemId); // Index-Lookup, URL ist vorab aufgelöst
+        return url != null ? CosmeticsAtlas.resolve(url, slot.textureLimits()) : null;
+    }
+}
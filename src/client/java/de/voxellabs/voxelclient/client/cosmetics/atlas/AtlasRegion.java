@@ -0,0 +1,33 @@
+package de.voxellabs.voxelclient.client.cosmetics.atlas;
+
+/**
+ * Lage eines Sprites im Atlas: Seite + UV-Rechteck. Rechnet die 0..1-UVs, mit denen die
+ * Renderer ihre Quads beschreiben, in Atlas-UVs um.
+ *
+ * Die Kanten liegen eine halbe Texel nach innen versetzt, damit Nearest-Sampling an den
+ * Rändern nie in den Nachbarbereich greift.
+ */
+public record AtlasRegion(int page, float u0, float v0, float u1, float v1) {
+
+    /** Ganze Textur (Einzeltextur außerhalb des Atlas) – UVs bleiben unverändert. */
+    public static final AtlasRegion FULL = new AtlasRegion(-1, 0f, 0f, 1f, 1f);
+
+    public static AtlasRegion of(int page, ShelfPacker.Rect rect, int pageWidth, int pageHeight) {
+        float hx = 0.5f / pageWidth, hy = 0.5f / pageHeight;
+        return new AtlasRegion(page,
+                (float) rect.x() / pageWidth + hx,
+                (float) rect.y() / pageHeight + hy,
+                (float) (rect.x() + rect.width()) / pageWidth - hx,
+                (float) (rect.y() + rect.height()) / pageHeight - hy);
+    }
+
+    /** Sprite-lokales u (0..1) → Atlas-u. */
+    public float u(float u) {
+        return u0 + (u1 - u0) * u;
+    }
+
+    /** Sprite-lokales v (0..1) → Atlas-v. */
+    public float v(float v) {
+        return v0 + (v1 - v0) * v;
+    }
+}
@@ -0,0 +1,203 @@
+package de.voxellabs.voxelclient.client.cosmetics.atlas;
+
+import de.voxellabs.voxelclient.client.cosmetics.utility.WebTextureLoader;
+import de.voxellabs.voxelclient.client.utils.TextureDiskCache;
+import de.voxellabs.voxelclient.client.utils.TexturePipeline;
+import de.voxellabs.voxelclient.client.utils.TextureRegistry;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dynamischer Atlas für Halo-/Wings-Texturen.
+ *
+ * Statt pro URL eine eigene Textur (und damit einen eigenen RenderLayer und Draw-Batch) zu
+ * registrieren, werden die Bilder in gemeinsame Seiten ({@link #PAGE_SIZE}²) gepackt
+ * ({@link ShelfPacker}); Renderer rechnen ihre UVs über {@link AtlasRegion} um. Alle
+ * Cosmetics einer Seite landen so im selben Vertex-Buffer.
+ *
+ * Ablauf: Disk-Cache/CDN → Dekodieren (Worker-Pool) → im Frame-Budget auf die Seite
+ * kopieren und nur den betroffenen Bereich hochladen (Render-Thread).
+ *
+ * Bilder größer als {@link #MAX_SPRITE} oder ohne Platz auf den {@link #MAX_PAGES} Seiten
+ * werden abgelehnt ({@link #isRejected}); der Renderer nutzt dann eine Einzeltextur.
+ *
+ * Freigabe: Sprites, die {@link #IDLE_RELEASE_MS} lang nicht gezeichnet wurden, werden bei
+ * Platzmangel freigegeben. Ist eine Seite danach leer, wird sie zurückgesetzt und wieder
+ * befüllt; mangels Platz abgelehnte URLs bekommen dann eine neue Chance. So bleibt der
+ * Atlas auch in langen Sitzungen mit wechselnden Spielern nutzbar.
+ */
+public final class CosmeticsAtlas {
+
+    private static final int PAGE_SIZE  = 1024;
+    private static final int PADDING    = 2;
+    private static final int MAX_SPRITE = 512;
+    private static final int MAX_PAGES  = 4;
+    private static final long IDLE_RELEASE_MS = 5 * 60 * 1000L;
+
+    private static final class Page {
+        final ShelfPacker               packer = new ShelfPacker(PAGE_SIZE, PAGE_SIZE, PADDING);
+        final NativeImage               image;
+        final NativeImageBackedTexture  texture;
+        final Identifier                id;
+        final TextureRegistry.Handle    handle;   // Seiten leben für die ganze Sitzung
+
+        Page(int index) {
+            image   = new NativeImage(PAGE_SIZE, PAGE_SIZE, true); // transparent initialisiert
+            texture = new NativeImageBackedTexture(image);
+            id      = Identifier.of("voxelclient", "atlas/cosmetics_" + index);
+            MinecraftClient.getInstance().getTextureManager().registerTexture(id, texture);
+            TextureRegistry.track(id, PAGE_SIZE, PAGE_SIZE);
+            handle  = TextureRegistry.retain(id);
+        }
+    }
+
+    /** Belegter Platz eines Sprites; {@code lastUse} wird beim Zeichnen aktualisiert. */
+    private static final class Slot {
+        final AtlasRegion      region;
+        final ShelfPacker.Rect rect;
+        volatile long          lastUse = System.currentTimeMillis();
+
+        Slot(AtlasRegion region, ShelfPacker.Rect rect) { this.region = region; this.rect = rect; }
+    }
+
+    // PAGES nur auf dem Render-Thread; Renderer lesen die Identifier über PAGE_IDS
+    private static final List<Page>             PAGES    = new ArrayList<>();
+    private static final List<Identifier>       PAGE_IDS = new CopyOnWriteArrayList<>();
+    private static final Map<String, Slot>      REGIONS  = new ConcurrentHashMap<>();
+    private static final Set<String>            LOADING  = ConcurrentHashMap.newKeySet();
+    private static final Set<String>            REJECTED = ConcurrentHashMap.newKeySet();
+    // Teilmenge von REJECTED: nur mangels Platz abgelehnt → nach einem Seiten-Reset neu versuchen
+    private static final Set<String>            NO_ROOM  = ConcurrentHashMap.newKeySet();
+
+    private CosmeticsAtlas() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Region einer Textur-URL im Atlas, oder null solange sie lädt (oder abgelehnt wurde). */
+    public static AtlasRegion get(String url, TexturePipeline.Limits limits) {
+        String key = WebTextureLoader.canonical(url);
+        Slot slot = REGIONS.get(key);
+        if (slot != null) {
+            slot.lastUse = System.currentTimeMillis();
+            return slot.region;
+        }
+        if (!REJECTED.contains(key) && LOADING.add(key)) load(key, limits);
+        return null;
+    }
+
+    /** true wenn die URL nicht in den Atlas passt → Einzeltextur verwenden. */
+    public static boolean isRejected(String url) {
+        return REJECTED.contains(WebTextureLoader.canonical(url));
+    }
+
+    /** Textur der Seite, auf der die Region liegt. */
+    public static Identifier texture(AtlasRegion region) {
+        return PAGE_IDS.get(region.page());
+    }
+
+    /**
+     * Textur + Region für eine URL: Atlas-Seite, sonst (abgelehnt) die geteilte Einzeltextur
+     * des {@link WebTextureLoader} mit {@link AtlasRegion#FULL}. Null solange noch nichts bereit ist.
+     */
+    public static Sprite resolve(String url, TexturePipeline.Limits limits) {
+        AtlasRegion region = get(url, limits);
+        if (region != null) return new Sprite(texture(region), region);
+        if (!isRejected(url)) return null;
+        Identifier single = WebTextureLoader.getOrLoad(url, limits);
+        return single != null ? new Sprite(single, AtlasRegion.FULL) : null;
+    }
+
+    /** Zu bindende Textur plus UV-Umrechnung. */
+    public record Sprite(Identifier texture, AtlasRegion region) {}
+
+    public static int pageCount() {
+        return PAGE_IDS.size();
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private static void load(String url, TexturePipeline.Limits limits) {
+        TextureDiskCache.fetch(url)
+                .thenCompose(png -> TexturePipeline.decode(png, limits))
+                .thenCompose(image -> TexturePipeline.onRenderThread(() -> insert(url, image)))
+                .whenComplete((slot, error) -> {
+                    if (slot != null) REGIONS.put(url, slot);
+                    else REJECTED.add(url);
+                    if (error != null) {
+                        System.err.println("[VoxelClient] Atlas-Fehler (" + url + "): " + error.getMessage());
+                    }
+                    LOADING.remove(url);
+                });
+    }
+
+    /** Render-Thread: Platz suchen (notfalls ungenutzte Sprites freigeben), Pixel kopieren, hochladen. */
+    private static Slot insert(String url, NativeImage image) {
+        try (image) {
+            int w = image.getWidth(), h = image.getHeight();
+            if (w > MAX_SPRITE || h > MAX_SPRITE) return null;
+
+            Slot slot = place(image, w, h);
+            if (slot == null && releaseIdle(System.currentTimeMillis())) slot = place(image, w, h);
+            if (slot == null) NO_ROOM.add(url);
+            return slot;
+        }
+    }
+
+    private static Slot place(NativeImage image, int w, int h) {
+        for (int i = 0; i <= PAGES.size(); i++) {
+            if (i == PAGES.size()) {
+                if (PAGES.size() >= MAX_PAGES) return null;
+                PAGES.add(new Page(i));
+                PAGE_IDS.add(PAGES.get(i).id);
+            }
+            Page page = PAGES.get(i);
+            ShelfPacker.Rect rect = page.packer.insert(w, h);
+            if (rect == null) continue;
+
+            image.copyRect(page.image, 0, 0, rect.x(), rect.y(), w, h, false, false);
+            page.texture.bindTexture();
+            page.image.upload(0, rect.x(), rect.y(), rect.x(), rect.y(), w, h, false);
+            return new Slot(AtlasRegion.of(i, rect, PAGE_SIZE, PAGE_SIZE), rect);
+        }
+        return null;
+    }
+
+    /**
+     * Render-Thread: Sprites ohne Zugriff seit {@link #IDLE_RELEASE_MS} freigeben und leere
+     * Seiten zurücksetzen. true wenn dabei mindestens eine Seite frei geworden ist.
+     */
+    private static boolean releaseIdle(long now) {
+        REGIONS.entrySet().removeIf(e -> {
+            Slot slot = e.getValue();
+            if (now - slot.lastUse < IDLE_RELEASE_MS) return false;
+            PAGES.get(slot.region.page()).packer.release(slot.rect);
+            return true;
+        });
+
+        boolean freed = false;
+        for (Page page : PAGES) {
+            if (!page.packer.isEmpty() || page.packer.isFresh()) continue;
+            page.packer.reset();
+            page.image.fillRect(0, 0, PAGE_SIZE, PAGE_SIZE, 0);
+            page.texture.bindTexture();
+            page.image.upload(0, 0, 0, false);
+            freed = true;
+        }
+        if (freed) {
+            // Mangels Platz abgelehnte URLs dürfen es wieder versuchen
+            REJECTED.removeAll(NO_ROOM);
+            NO_ROOM.clear();
+            System.out.println("[VoxelClient] Cosmetics-Atlas: ungenutzte Seiten zurückgesetzt");
+        }
+        return freed;
+    }
+}
@@ -0,0 +1,103 @@
+package de.voxellabs.voxelclient.client.cosmetics.atlas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shelf-Packing für eine Atlas-Seite – reine Geometrie, ohne GPU/Minecraft-Abhängigkeiten.
+ *
+ * Die Seite wird von oben nach unten in "Regale" (Shelves) aufgeteilt; jedes Regal ist so
+ * hoch wie das erste Rechteck darin, weitere werden links nach rechts angehängt. Ein neues
+ * Rechteck kommt in das niedrigste Regal, in das es passt (Best-Fit), außer das Regal wäre
+ * mehr als doppelt so hoch – dann wird, wenn noch Platz ist, ein neues Regal eröffnet.
+ *
+ * Zwischen Rechtecken bleibt {@code padding} Pixel Abstand, damit beim Sampling keine
+ * Nachbar-Sprites durchscheinen.
+ *
+ * Freigegebene Rechtecke ({@link #release}) werden nicht einzeln wiederverwendet; sind alle
+ * frei ({@link #isEmpty}), setzt {@link #reset} die Seite komplett zurück.
+ */
+public final class ShelfPacker {
+
+    /** Platzierte Fläche in Pixeln (ohne Padding). */
+    public record Rect(int x, int y, int width, int height) {}
+
+    private static final class Shelf {
+        final int y, height;
+        int x;
+        Shelf(int y, int height) { this.y = y; this.height = height; }
+    }
+
+    private final int width, height, padding;
+    private final List<Shelf> shelves = new ArrayList<>();
+    private int  nextShelfY = 0;
+    private long usedArea   = 0;
+    private int  live       = 0;
+
+    public ShelfPacker(int width, int height, int padding) {
+        this.width   = width;
+        this.height  = height;
+        this.padding = padding;
+    }
+
+    /** Platziert ein Rechteck; null wenn es auf dieser Seite keinen Platz mehr hat. */
+    public Rect insert(int w, int h) {
+        if (w <= 0 || h <= 0) throw new IllegalArgumentException("Ungültige Größe " + w + "x" + h);
+        int pw = w + padding, ph = h + padding;
+        if (pw > width || ph > height) return null;
+
+        Shelf best = null;
+        for (Shelf shelf : shelves) {
+            if (shelf.height >= ph && width - shelf.x >= pw
+                    && (best == null || shelf.height < best.height)) {
+                best = shelf;
+            }
+        }
+        boolean roomForShelf = nextShelfY + ph <= height;
+        if (best == null || (best.height > ph * 2 && roomForShelf)) {
+            if (!roomForShelf) return null;
+            best = new Shelf(nextShelfY, ph);
+            shelves.add(best);
+            nextShelfY += ph;
+        }
+
+        Rect rect = new Rect(best.x, best.y, w, h);
+        best.x   += pw;
+        usedArea += (long) w * h;
+        live++;
+        return rect;
+    }
+
+    /** Rechteck wird nicht mehr gebraucht (Fläche bleibt bis {@link #reset} belegt). */
+    public void release(Rect rect) {
+        if (live == 0) throw new IllegalStateException("Kein belegtes Rechteck");
+        live--;
+        usedArea -= (long) rect.width() * rect.height();
+    }
+
+    /** true wenn kein platziertes Rechteck mehr in Benutzung ist. */
+    public boolean isEmpty() {
+        return live == 0;
+    }
+
+    /** true wenn seit dem letzten {@link #reset} nichts platziert wurde. */
+    public boolean isFresh() {
+        return shelves.isEmpty();
+    }
+
+    /** Seite leeren – alle Regale und Rechtecke verwerfen. */
+    public void reset() {
+        shelves.clear();
+        nextShelfY = 0;
+        usedArea   = 0;
+        live       = 0;
+    }
+
+    /** Anteil der belegten Fläche in Benutzung (0..1, ohne Padding). */
+    public double occupancy() {
+        return (double) usedArea / ((long) width * height);
+    }
+
+    public int width()  { return width; }
+    public int height() { return height; }
+}
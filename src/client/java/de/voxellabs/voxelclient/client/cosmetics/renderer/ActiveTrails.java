@@ -0,0 +1,172 @@
+package de.voxellabs.voxelclient.client.cosmetics.renderer;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticSlot;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiClient;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsCatalog;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsCatalogClient;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsProfile;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.AbstractClientPlayerEntity;
+import net.minecraft.client.world.ClientWorld;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Register der Spieler mit aktivem Trail, mit bereits aufgelöster trail_id.
+ *
+ * Der {@link TrailRenderer} iteriert pro Spawn-Runde nur noch über {@link #active()} statt
+ * über alle Spieler der Welt. Neu aufgelöst wird ein Spieler nur, wenn sich etwas ändert:
+ *   - Spieler betritt/verlässt die Sichtweite (ENTITY_LOAD/UNLOAD)
+ *   - seine Cosmetics-Daten ändern sich ({@link CosmeticsApiClient#addChangeListener})
+ *   - Katalog oder eigene Trail-Auswahl ändern sich → alle neu auflösen
+ *     (dafür gibt es kein Event; geprüft wird ein Referenz- bzw. int-Vergleich pro Runde)
+ *
+ * Änderungen dürfen von beliebigen Threads gemeldet werden ({@link #markDirty}); aufgelöst
+ * wird in {@link #update} auf dem Client-Thread.
+ */
+public final class ActiveTrails {
+
+    /** Spieler mit aktivem Trail und dessen Partikel-Typ. */
+    public record Entry(AbstractClientPlayerEntity player, String trailId, boolean own) {}
+
+    // Client-Thread: alle geladenen Spieler bzw. die mit aktivem Trail
+    private static final Map<UUID, AbstractClientPlayerEntity> TRACKED = new HashMap<>();
+    private static final Map<UUID, Entry>                      ACTIVE  = new HashMap<>();
+
+    // Beliebige Threads: neu aufzulösende Spieler
+    private static final Set<UUID> DIRTY = ConcurrentHashMap.newKeySet();
+    private static volatile boolean dirtyAll = true;
+
+    private static ClientWorld      lastWorld;
+    private static CosmeticsCatalog lastCatalog;
+    private static int              lastOwnTrailItem;
+    private static boolean          registered = false;
+
+    private ActiveTrails() {}
+
+    /** Einmalig beim Start aufrufen (über {@link TrailRenderer#register()}). */
+    public static void register() {
+        if (registered) return;
+        registered = true;
+
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof AbstractClientPlayerEntity player) {
+                TRACKED.put(player.getUuid(), player);
+                markDirty(player.getUuid());
+            }
+        });
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof AbstractClientPlayerEntity player
+                    && TRACKED.remove(player.getUuid(), player)) {
+                ACTIVE.remove(player.getUuid());
+            }
+        });
+        CosmeticsApiClient.addChangeListener(uuid -> {
+            if (uuid != null) markDirty(uuid);
+            else markAllDirty();
+        });
+    }
+
+    /** Spieler beim nächsten {@link #update} neu auflösen (thread-sicher). */
+    public static void markDirty(UUID uuid) {
+        DIRTY.add(uuid);
+    }
+
+    /** Alle Spieler beim nächsten {@link #update} neu auflösen (thread-sicher). */
+    public static void markAllDirty() {
+        dirtyAll = true;
+    }
+
+    /** Client-Thread, vor jeder Spawn-Runde: ausstehende Änderungen einarbeiten. */
+    public static void update(MinecraftClient client) {
+        ClientWorld world = client.world;
+        if (world != lastWorld) {
+            // Weltwechsel: UNLOAD kommt nicht für jeden Spieler zuverlässig → neu aufbauen
+            lastWorld = world;
+            TRACKED.clear();
+            if (world != null) {
+                for (AbstractClientPlayerEntity player : world.getPlayers()) {
+                    TRACKED.put(player.getUuid(), player);
+                }
+            }
+            dirtyAll = true;
+        }
+
+        CosmeticsCatalog catalog = CosmeticsCatalogClient.get();
+        int ownTrailItem = VoxelClientConfig.get().getActiveItemId(CosmeticSlot.TRAIL);
+        if (catalog != lastCatalog || ownTrailItem != lastOwnTrailItem) {
+            lastCatalog = catalog;
+            lastOwnTrailItem = ownTrailItem;
+            dirtyAll = true;
+        }
+
+        if (dirtyAll) {
+            dirtyAll = false;
+            DIRTY.clear();
+            ACTIVE.clear();
+            for (AbstractClientPlayerEntity player : TRACKED.values()) resolve(client, player);
+            return;
+        }
+        if (DIRTY.isEmpty()) return;
+        for (UUID uuid : DIRTY) {
+            DIRTY.remove(uuid);
+            AbstractClientPlayerEntity player = TRACKED.get(uuid);
+            if (player != null) resolve(client, player);
+            else ACTIVE.remove(uuid);
+        }
+    }
+
+    /** Spieler mit aktivem Trail (Client-Thread, nach {@link #update}). */
+    public static Collection<Entry> active() {
+        return ACTIVE.values();
+    }
+
+    // ── Auflösung ─────────────────────────────────────────────────────────────
+
+    private static void resolve(MinecraftClient client, AbstractClientPlayerEntity player) {
+        UUID uuid = player.getUuid();
+        boolean own = client.player != null && client.player.getUuid().equals(uuid);
+
+        String trailId = resolveTrailId(resolveActiveTrailItemId(uuid, own));
+        if (trailId == null || trailId.isBlank()) ACTIVE.remove(uuid);
+        else ACTIVE.put(uuid, new Entry(player, trailId, own));
+    }
+
+    /**
+     * Gibt die aktive Trail-Item-ID zurück.
+     *
+     * Eigener Spieler: lokale Config ist maßgeblich (Spieler hat im Screen
+     *                  ein Item ausgewählt → das wird gerendert).
+     * Andere Spieler:  Server-Antwort (CosmeticsProfile) ist
+     *                  maßgeblich.
+     *
+     * Gibt 0 zurück wenn kein Trail aktiv ist.
+     */
+    private static int resolveActiveTrailItemId(UUID uuid, boolean isOwnPlayer) {
+        if (isOwnPlayer) {
+            return VoxelClientConfig.get().getActiveItemId(CosmeticSlot.TRAIL);
+        }
+
+        CosmeticsProfile data = CosmeticsApiClient.getCosmetics(uuid);
+        if (data == null) return 0;
+        return data.activeItemId(CosmeticSlot.TRAIL);
+    }
+
+    /**
+     * Schlägt im Katalog nach welche trail_id ein Item hat.
+     * Gibt null zurück wenn Katalog noch nicht geladen oder Item nicht gefunden.
+     */
+    private static String resolveTrailId(int itemId) {
+        if (itemId == 0) return null;
+        CosmeticsCatalog catalog = CosmeticsCatalogClient.get();
+        if (catalog == null) return null;
+        return catalog.trailId(itemId);
+    }
+}
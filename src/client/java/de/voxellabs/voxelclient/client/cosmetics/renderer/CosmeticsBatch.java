@@ -0,0 +1,162 @@
+package de.voxellabs.voxelclient.client.cosmetics.renderer;
+
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sammelt die Halo-/Wings-Quads aller Spieler eines Frames und schreibt sie gebündelt.
+ *
+ * Während der Welt-Entities (BEFORE_ENTITIES … AFTER_ENTITIES) liefert {@link #buffer}
+ * statt des echten Vertex-Buffers einen aufzeichnenden: die Renderer rechnen Transform
+ * und Animations-Phase wie gewohnt aus, die fertigen (bereits transformierten) Vertices
+ * landen aber nur in einem Array pro RenderLayer bzw. Textur. In AFTER_ENTITIES wird
+ * jede Gruppe mit genau einem {@code getBuffer} in einem Rutsch geschrieben – bei 80
+ * Spielern mit Cosmetics also eine Handvoll Buffer-Wechsel statt zwei pro Spieler.
+ *
+ * Außerhalb der Welt (z.B. Spielermodell im Inventar) wird direkt gezeichnet, da die
+ * Matrizen dort nur für den aktuellen GUI-Draw gelten. Alles hier läuft auf dem Render-Thread.
+ */
+public final class CosmeticsBatch {
+
+    private static final int MAX_IDLE_GROUPS = 64;
+
+    private static final Map<RenderLayer, Group> GROUPS = new IdentityHashMap<>();
+    private static final List<Group>             ACTIVE = new ArrayList<>();
+    private static boolean collecting = false;
+    private static boolean registered = false;
+
+    private CosmeticsBatch() {}
+
+    /** Einmalig beim Start aufrufen. */
+    public static void register() {
+        if (registered) return;
+        registered = true;
+        WorldRenderEvents.BEFORE_ENTITIES.register(context -> collecting = true);
+        WorldRenderEvents.AFTER_ENTITIES.register(context -> flush(context.consumers()));
+    }
+
+    /**
+     * Vertex-Buffer für eine Cosmetics-Textur (Entity-Translucent). In der Welt wird
+     * aufgezeichnet, sonst direkt in {@code provider} geschrieben.
+     */
+    public static VertexConsumer buffer(VertexConsumerProvider provider, Identifier texture) {
+        RenderLayer layer = RenderLayer.getEntityTranslucent(texture);
+        if (!collecting) return provider.getBuffer(layer);
+
+        Group group = GROUPS.get(layer);
+        if (group == null) {
+            group = new Group(layer);
+            GROUPS.put(layer, group);
+        }
+        if (group.count == 0) ACTIVE.add(group);
+        return group;
+    }
+
+    // ── Flush ─────────────────────────────────────────────────────────────────
+
+    private static void flush(VertexConsumerProvider consumers) {
+        collecting = false;
+        if (ACTIVE.isEmpty()) return;
+        VertexConsumerProvider provider = consumers != null
+                ? consumers
+                : MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers();
+
+        for (Group group : ACTIVE) {
+            group.writeTo(provider.getBuffer(group.layer));
+            group.count = 0;
+        }
+        ACTIVE.clear();
+
+        // Gruppen für längst verschwundene Texturen nicht ewig halten
+        if (GROUPS.size() > MAX_IDLE_GROUPS) GROUPS.clear();
+    }
+
+    // ── Aufzeichnung ──────────────────────────────────────────────────────────
+
+    /**
+     * Aufzeichnender VertexConsumer einer RenderLayer. Positionen kommen bereits
+     * transformiert an ({@code vertex(Matrix4f, …)} rechnet vorher um).
+     */
+    private static final class Group implements VertexConsumer {
+        private static final int FLOATS = 8; // x y z u v nx ny nz
+        private static final int INTS   = 3; // color overlay light
+
+        final RenderLayer layer;
+        float[] floats = new float[64 * FLOATS];
+        int[]   ints   = new int[64 * INTS];
+        int     count;  // aufgezeichnete Vertices
+
+        Group(RenderLayer layer) {
+            this.layer = layer;
+        }
+
+        private int f() { return (count - 1) * FLOATS; }
+        private int i() { return (count - 1) * INTS; }
+
+        @Override
+        public VertexConsumer vertex(float x, float y, float z) {
+            if (count * FLOATS >= floats.length) {
+                floats = Arrays.copyOf(floats, floats.length * 2);
+                ints   = Arrays.copyOf(ints, ints.length * 2);
+            }
+            count++;
+            int f = f();
+            floats[f] = x; floats[f + 1] = y; floats[f + 2] = z;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer color(int red, int green, int blue, int alpha) {
+            ints[i()] = alpha << 24 | red << 16 | green << 8 | blue;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer texture(float u, float v) {
+            int f = f();
+            floats[f + 3] = u; floats[f + 4] = v;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer overlay(int u, int v) {
+            ints[i() + 1] = v << 16 | (u & 0xFFFF);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer light(int u, int v) {
+            ints[i() + 2] = v << 16 | (u & 0xFFFF);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer normal(float x, float y, float z) {
+            int f = f();
+            floats[f + 5] = x; floats[f + 6] = y; floats[f + 7] = z;
+            return this;
+        }
+
+        void writeTo(VertexConsumer out) {
+            for (int n = 0; n < count; n++) {
+                int f = n * FLOATS, i = n * INTS;
+                out.vertex(floats[f], floats[f + 1], floats[f + 2])
+                        .color(ints[i])
+                        .texture(floats[f + 3], floats[f + 4])
+                        .overlay(ints[i + 1])
+                        .light(ints[i + 2])
+                        .normal(floats[f + 5], floats[f + 6], floats[f + 7]);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package de.voxellabs.voxelclient.client.cosmetics.renderer;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.RenderTickCounter;
+
+/**
+ * Gemeinsame Animations-Uhr für alle Cosmetics, einmal pro Frame gestellt (GameRendererMixin).
+ *
+ * Zeitbasis ist die Spielzeit (Welt-Ticks + Tick-Delta) statt {@code currentTimeMillis}:
+ * Animationen laufen bei jeder FPS-Zahl stufenlos, pausieren mit dem Spiel und alle
+ * Renderer eines Frames sehen denselben Zeitpunkt.
+ *
+ * Pro Frame werden nur die Phasen (Festkomma, {@link #TABLE_SIZE} Schritte pro Periode)
+ * berechnet; die Renderer lesen Sinus-Werte aus einer Tabelle mit linearer Interpolation –
+ * zwei Array-Zugriffe pro Wert. Über einen Phasen-Versatz pro Spieler
+ * ({@link #phaseOf}) laufen Halos/Wings in einer Menge nicht im Gleichtakt.
+ */
+public final class CosmeticsClock {
+
+    public static final int  TABLE_SIZE    = 1024;
+    public static final int  RAINBOW_STEPS = 256;
+    private static final int FRACTION_BITS = 8;
+    private static final int PHASE_BITS    = Integer.numberOfTrailingZeros(TABLE_SIZE) + FRACTION_BITS;
+    private static final int PHASE_MASK    = (1 << PHASE_BITS) - 1;
+
+    // Perioden in Ticks (20 Ticks = 1 s)
+    private static final double HALO_SPIN_TICKS   = 160.0;  // 8 s pro Umdrehung
+    private static final double HALO_BOB_TICKS    = 40.0;   // 2 s
+    private static final double FLAP_MOVING_TICKS = 12.0;   // schneller Flügelschlag beim Laufen
+    private static final double FLAP_IDLE_TICKS   = 37.5;   // langsames Atmen im Stand
+    private static final double RAINBOW_TICKS     = 400.0;  // 20 s für einen Farbkreis
+
+    private static final float[] SIN     = new float[TABLE_SIZE + 1]; // +1 für Interpolation
+    private static final int[]   RAINBOW = new int[RAINBOW_STEPS];
+
+    static {
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            SIN[i] = (float) Math.sin(i * (2.0 * Math.PI / TABLE_SIZE));
+        }
+        for (int i = 0; i < RAINBOW.length; i++) {
+            RAINBOW[i] = 0xFF000000 | (java.awt.Color.HSBtoRGB(i / (float) RAINBOW.length, 1.0f, 1.0f) & 0x00FFFFFF);
+        }
+    }
+
+    // Nur auf dem Render-Thread geschrieben; Trails (Client-Tick) lesen den letzten Stand
+    private static volatile int haloSpin, haloBob, flapMoving, flapIdle, rainbow;
+
+    private static long nanoStart = System.nanoTime();
+
+    private CosmeticsClock() {}
+
+    /** Render-Thread, einmal pro Frame. */
+    public static void onFrame(RenderTickCounter tickCounter) {
+        MinecraftClient mc = MinecraftClient.getInstance();
+        double ticks = mc.world != null
+                ? mc.world.getTime() + tickCounter.getTickDelta(false)
+                : (System.nanoTime() - nanoStart) / 50_000_000.0; // Menüs: Echtzeit in Ticks
+
+        haloSpin   = phase(ticks, HALO_SPIN_TICKS);
+        haloBob    = phase(ticks, HALO_BOB_TICKS);
+        flapMoving = phase(ticks, FLAP_MOVING_TICKS);
+        flapIdle   = phase(ticks, FLAP_IDLE_TICKS);
+        rainbow    = phase(ticks, RAINBOW_TICKS);
+    }
+
+    // ── Abfragen (Render-Thread) ──────────────────────────────────────────────
+
+    /**
+     * Phasen-Versatz eines Spielers (stabil pro UUID-Hash). Die obersten {@code PHASE_BITS}
+     * Bits des Fibonacci-Hashs decken die volle Periode ab.
+     */
+    public static int phaseOf(int hash) {
+        return (hash * 0x9E3779B9) >>> (Integer.SIZE - PHASE_BITS);
+    }
+
+    /** Halo-Drehung in Bogenmaß. */
+    public static float haloSpinRadians(int phase) {
+        return ((haloSpin + phase) & PHASE_MASK) * (float) (2.0 * Math.PI / (PHASE_MASK + 1));
+    }
+
+    /** Halo-Schweben, -1..1. */
+    public static float haloBob(int phase) {
+        return sin(haloBob + phase);
+    }
+
+    /** Flügelschlag, -1..1 (schnell beim Laufen, langsam im Stand). */
+    public static float flap(boolean moving, int phase) {
+        return sin((moving ? flapMoving : flapIdle) + phase);
+    }
+
+    /** Aktuelle Stufe im Regenbogen-Farbkreis, 0 … {@link #RAINBOW_STEPS}-1. */
+    public static int rainbowIndex() {
+        return (rainbow >>> FRACTION_BITS) * RAINBOW_STEPS / TABLE_SIZE;
+    }
+
+    /** Farbe (ARGB) einer Regenbogen-Stufe. */
+    public static int rainbowArgb(int index) {
+        return RAINBOW[index];
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private static int phase(double ticks, double period) {
+        double fraction = (ticks % period) / period; // ticks ≥ 0 → 0..1
+        return (int) (fraction * (PHASE_MASK + 1)) & PHASE_MASK;
+    }
+
+    private static float sin(int phase) {
+        phase &= PHASE_MASK;
+        int   i = phase >>> FRACTION_BITS;
+        float f = (phase & ((1 << FRACTION_BITS) - 1)) * (1.0f / (1 << FRACTION_BITS));
+        float a = SIN[i];
+        return a + (SIN[i + 1] - a) * f;
+    }
+}
@@ -0,0 +1,65 @@
+package de.voxellabs.voxelclient.client.cosmetics.renderer;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import net.minecraft.client.MinecraftClient;
+
+/**
+ * Detailstufe für Cosmetics abhängig davon, wie groß ein Spieler auf dem Bildschirm ist.
+ *
+ * Maßstab ist die Bildschirmhöhe des Spielers in Pixeln (Entity-Höhe, Abstand zur Kamera,
+ * Sichtfeld, Framebuffer-Höhe) – nicht die reine Entfernung. Damit verhält sich die
+ * Policy bei jedem FOV und jeder Auflösung gleich:
+ *   ≥ {@link VoxelClientConfig#cosmeticsLodFullPx}  → {@link Level#FULL}: alles animiert
+ *   ≥ {@link VoxelClientConfig#cosmeticsLodCullPx}  → {@link Level#STATIC}: feste Pose, weniger Partikel
+ *   darunter                                        → {@link Level#CULLED}: nichts zeichnen/spawnen
+ *
+ * Trail-Partikel ({@link #emissionWeight}) werden in der Stufe STATIC nicht pauschal halbiert,
+ * sondern linear mit der Bildschirmhöhe skaliert: Gewicht = Pixel / cosmeticsLodFullPx. So
+ * gibt es an der FULL-Schwelle keinen sichtbaren Sprung. Mit den Standardwerten (96 / 24 px)
+ * läuft das Gewicht von 1,0 bis 0,25 und fällt erst beim Culling auf 0.
+ *
+ * Gilt für Halo/Wings (CosmeticsSnapshot) und die Partikel im {@link TrailRenderer}.
+ */
+public final class CosmeticsLod {
+
+    public enum Level { FULL, STATIC, CULLED }
+
+    private CosmeticsLod() {}
+
+    /**
+     * Detailstufe für ein Entity mit {@code height} Blöcken Höhe im quadrierten Abstand
+     * {@code squaredDistance} zur Kamera.
+     */
+    public static Level of(double squaredDistance, float height) {
+        VoxelClientConfig config = VoxelClientConfig.get();
+        if (!config.cosmeticsLod) return Level.FULL;
+
+        double pixels = pixelHeight(squaredDistance, height);
+        if (pixels >= config.cosmeticsLodFullPx) return Level.FULL;
+        if (pixels >= config.cosmeticsLodCullPx) return Level.STATIC;
+        return Level.CULLED;
+    }
+
+    /**
+     * Anteil der vollen Partikel-Menge für Trails: 1 bei {@link Level#FULL}, 0 bei
+     * {@link Level#CULLED}, dazwischen {@code pixels / cosmeticsLodFullPx} (linear, siehe Klasse).
+     */
+    public static float emissionWeight(double squaredDistance, float height) {
+        VoxelClientConfig config = VoxelClientConfig.get();
+        if (!config.cosmeticsLod) return 1.0f;
+
+        double pixels = pixelHeight(squaredDistance, height);
+        if (pixels >= config.cosmeticsLodFullPx) return 1.0f;
+        if (pixels <  config.cosmeticsLodCullPx) return 0.0f;
+        return (float) (pixels / Math.max(1, config.cosmeticsLodFullPx));
+    }
+
+    /** Ungefähre Höhe auf dem Bildschirm in Pixeln (Perspektiv-Projektion). */
+    public static double pixelHeight(double squaredDistance, float height) {
+        if (squaredDistance < 1.0e-4) return Double.MAX_VALUE; // Kamera im Spieler (First-Person)
+        MinecraftClient mc = MinecraftClient.getInstance();
+        double fov = Math.toRadians(mc.options.getFov().getValue());
+        double pixelsPerBlockAtOne = mc.getWindow().getFramebufferHeight() / (2.0 * Math.tan(fov / 2.0));
+        return height * pixelsPerBlockAtOne / Math.sqrt(squaredDistance);
+    }
+}
@@ -0,0 +1,201 @@
+package de.voxellabs.voxelclient.client.cosmetics.renderer;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.particle.DustParticleEffect;
+import net.minecraft.particle.ParticleTypes;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sammelt die Trail-Wünsche aller Spieler einer Spawn-Runde und spawnt sie innerhalb
+ * eines globalen Budgets ({@link VoxelClientConfig#trailParticleBudget}).
+ *
+ * Ablauf pro Runde (Client-Tick, siehe {@link TrailRenderer}):
+ *   {@link #begin()} → {@link #request} pro Spieler → {@link #emit}.
+ * Die Wünsche liegen in wiederverwendeten Arrays (keine Objekte pro Spieler/Runde), die
+ * Partikel-Effekte sind vorab erzeugt – auch die 256 Regenbogen-Farben.
+ *
+ * Reicht das Budget nicht, wird reihum verteilt: jeder Spieler bekommt einen Partikel,
+ * dann der nächste, bis das Budget leer ist. Der Startpunkt wandert jede Runde weiter,
+ * damit der Rest nicht immer denselben Spielern zufällt. Die gewünschte Menge wird vorher
+ * mit dem Distanz-Gewicht ({@link CosmeticsLod#emissionWeight}) skaliert.
+ *
+ * Leben und Zeichnen der Partikel bleibt beim Vanilla-ParticleManager.
+ */
+public final class TrailEmitter {
+
+    // ── Trail-Typen ───────────────────────────────────────────────────────────
+
+    private static final int FLAME   = 0;
+    private static final int HEARTS  = 1;
+    private static final int STARS   = 2;
+    private static final int RAINBOW = 3;
+    private static final int MAGIC   = 4;
+
+    // Partikel pro Spieler und Runde bei voller Detailstufe (Herzen: im Schnitt 0,4)
+    private static final float[] RATE = { 3.0f, 0.4f, 2.0f, 3.0f, 4.0f };
+
+    private static final DustParticleEffect[] RAINBOW_DUST = new DustParticleEffect[CosmeticsClock.RAINBOW_STEPS];
+
+    static {
+        for (int i = 0; i < RAINBOW_DUST.length; i++) {
+            RAINBOW_DUST[i] = new DustParticleEffect(CosmeticsClock.rainbowArgb(i), 1.0f);
+        }
+    }
+
+    public record Stats(long spawned, long dropped) {
+        @Override
+        public String toString() {
+            long total = spawned + dropped;
+            return String.format("Trail-Partikel: %d gespawnt, %d verworfen (%.1f%%)",
+                    spawned, dropped, total == 0 ? 0.0 : dropped * 100.0 / total);
+        }
+    }
+
+    private static final AtomicLong SPAWNED = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    // Wünsche der laufenden Runde (Client-Thread), Arrays wachsen bei Bedarf mit
+    private static double[] xs      = new double[64];
+    private static double[] ys      = new double[64];
+    private static double[] zs      = new double[64];
+    private static int[]    kinds   = new int[64];
+    private static int[]    wanted  = new int[64];
+    private static int[]    granted = new int[64];
+    private static int      count   = 0;
+    private static int      round   = 0;
+
+    private TrailEmitter() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Neue Spawn-Runde beginnen. */
+    public static void begin() {
+        count = 0;
+        round++;
+    }
+
+    /**
+     * Trail eines Spielers für diese Runde anmelden.
+     *
+     * @param trailId Katalog-trail_id (unbekannte IDs werden ignoriert)
+     * @param weight  Anteil der vollen Menge (0..1), siehe {@link CosmeticsLod#emissionWeight}
+     */
+    public static void request(String trailId, double x, double y, double z, float weight) {
+        int kind = kindOf(trailId);
+        if (kind < 0 || weight <= 0.0f) return;
+
+        // Bruchteile zufällig runden → im Mittel genau RATE × weight
+        float expected = RATE[kind] * weight;
+        int n = (int) expected;
+        if (ThreadLocalRandom.current().nextFloat() < expected - n) n++;
+        if (n == 0) return;
+
+        if (count == xs.length) grow();
+        xs[count] = x; ys[count] = y; zs[count] = z;
+        kinds[count]  = kind;
+        wanted[count] = n;
+        count++;
+    }
+
+    /** Budget verteilen und die Partikel der Runde spawnen. */
+    public static void emit(ClientWorld world) {
+        if (count == 0) return;
+
+        int total = 0;
+        for (int i = 0; i < count; i++) total += wanted[i];
+        int budget = Math.max(0, VoxelClientConfig.get().trailParticleBudget);
+
+        if (total <= budget) {
+            System.arraycopy(wanted, 0, granted, 0, count);
+        } else {
+            distribute(budget);
+            DROPPED.addAndGet(total - budget);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int rainbowIndex = CosmeticsClock.rainbowIndex();
+        int spawned = 0;
+        for (int i = 0; i < count; i++) {
+            for (int p = 0; p < granted[i]; p++) {
+                spawn(world, random, kinds[i], xs[i], ys[i], zs[i], rainbowIndex);
+            }
+            spawned += granted[i];
+        }
+        SPAWNED.addAndGet(spawned);
+        count = 0;
+    }
+
+    public static Stats stats() {
+        return new Stats(SPAWNED.get(), DROPPED.get());
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    /** Reihum je einen Partikel vergeben, bis {@code budget} aufgebraucht ist. */
+    private static void distribute(int budget) {
+        Arrays.fill(granted, 0, count, 0);
+        int start = Math.floorMod(round, count);
+        boolean progress = true;
+        while (budget > 0 && progress) {
+            progress = false;
+            for (int k = 0; k < count && budget > 0; k++) {
+                int i = start + k < count ? start + k : start + k - count;
+                if (granted[i] < wanted[i]) {
+                    granted[i]++;
+                    budget--;
+                    progress = true;
+                }
+            }
+        }
+    }
+
+    private static void spawn(ClientWorld world, ThreadLocalRandom random, int kind,
+                              double x, double y, double z, int rainbowIndex) {
+        switch (kind) {
+            case FLAME -> world.addParticle(ParticleTypes.FLAME,
+                    x + spread(random), y, z + spread(random), 0, 0.02, 0);
+            case HEARTS -> world.addParticle(ParticleTypes.HEART,
+                    x + spread(random) * 0.5, y + 0.5, z + spread(random) * 0.5, 0, 0.05, 0);
+            case STARS -> world.addParticle(ParticleTypes.END_ROD,
+                    x + spread(random), y + random.nextDouble() * 0.5, z + spread(random),
+                    spread(random) * 0.05, 0.03, spread(random) * 0.05);
+            case RAINBOW -> world.addParticle(RAINBOW_DUST[rainbowIndex],
+                    x + spread(random), y + random.nextDouble() * 0.3, z + spread(random), 0, 0, 0);
+            case MAGIC -> world.addParticle(ParticleTypes.ENCHANT,
+                    x + spread(random), y + random.nextDouble(), z + spread(random),
+                    spread(random) * 0.1, 0.05, spread(random) * 0.1);
+            default -> { }
+        }
+    }
+
+    private static int kindOf(String trailId) {
+        if (trailId == null) return -1;
+        return switch (trailId) {
+            case "flame"   -> FLAME;
+            case "hearts"  -> HEARTS;
+            case "stars"   -> STARS;
+            case "rainbow" -> RAINBOW;
+            case "magic"   -> MAGIC;
+            default        -> -1; // Unbekannte trail_id → kein Partikel
+        };
+    }
+
+    /** -0,25 … 0,25 Blöcke um die Spielerposition. */
+    private static double spread(ThreadLocalRandom random) {
+        return (random.nextDouble() - 0.5) * 0.5;
+    }
+
+    private static void grow() {
+        int size = xs.length * 2;
+        xs      = Arrays.copyOf(xs, size);
+        ys      = Arrays.copyOf(ys, size);
+        zs      = Arrays.copyOf(zs, size);
+        kinds   = Arrays.copyOf(kinds, size);
+        wanted  = Arrays.copyOf(wanted, size);
+        granted = Arrays.copyOf(granted, size);
+    }
+}
@@ -1,21 +1,21 @@
 package de.voxellabs.voxelclient.client.cosmetics.renderer;
 
-import de.voxellabs.voxelclient.client.cosmetics.utility.WebTextureLoader;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsSnapshot;
+import de.voxellabs.voxelclient.client.cosmetics.atlas.AtlasRegion;
+import de.voxellabs.voxelclient.client.cosmetics.atlas.CosmeticsAtlas;
 import net.minecraft.client.render.OverlayTexture;
-import net.minecraft.client.render.RenderLayer;
 import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
 import net.minecraft.client.util.math.MatrixStack;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.util.math.RotationAxis;
 import org.joml.Matrix4f;
+import org.joml.Quaternionf;
 
 /**
  * Wings Renderer — VoxelClient Cosmetics
  * Rendert Flügel auf dem Rücken des Spielers.
- * Die Wings-Textur wird als einzelnes Sprite von der CDN-URL geladen.
+ * Die Wings-Textur wird als einzelnes Sprite von der CDN-URL geladen (im {@link CosmeticsAtlas}).
  * Linke Seite = linke Hälfte der Textur, rechte Seite = rechte Hälfte (gespiegelt).
  */
 public class WingsRenderer {
@@ -24,61 +24,67 @@ public class WingsRenderer {
     private static final float WING_H = 0.9f;
     private static final float WING_Y = 1.2f;
 
+    // Render-Thread; multiply() kopiert die Werte, die Instanz wird wiederverwendet
+    private static final Quaternionf FLAP = new Quaternionf();
+
     public static void render(MatrixStack matrices,
                                VertexConsumerProvider vertexConsumers,
                                int light,
                                PlayerEntityRenderState state,
-                               float tickDelta,
-                               String textureUrl) {
+                               CosmeticsSnapshot cosmetics) {
 
-        Identifier texture = WebTextureLoader.getOrLoad(
-                textureUrl, "wings_" + Math.abs(textureUrl.hashCode()));
-        if (texture == null) return;
+        // Atlas-Seite (geteilt mit anderen Halos/Wings) oder – falls zu groß – Einzeltextur
+        CosmeticsAtlas.Sprite sprite = cosmetics.wings();
 
-        // Flügel-Schlag Animation
-        float time = (System.currentTimeMillis() % 1500L) / 1500.0f;
+        // Flügel-Schlag Animation (auf Distanz feste, leicht geöffnete Pose, siehe CosmeticsLod)
         boolean isMoving = state.limbFrequency > 0.01f;
-        float beatSpeed = isMoving ? 2.5f : 0.8f;
         float beatAmp   = isMoving ? 18.0f : 8.0f;
-        float flapAngle = MathHelper.sin(time * MathHelper.TAU * beatSpeed) * beatAmp;
+        float flapAngle = cosmetics.animated()
+                ? CosmeticsClock.flap(isMoving, cosmetics.phase()) * beatAmp
+                : beatAmp * 0.5f;
+        float flapRad   = flapAngle * MathHelper.RADIANS_PER_DEGREE;
+
+        // Ein Buffer für beide Flügel
+        VertexConsumer vc = CosmeticsBatch.buffer(vertexConsumers, sprite.texture());
 
         // Linker Flügel
         matrices.push();
         matrices.translate(0.0f, WING_Y, 0.1f);
-        matrices.multiply(RotationAxis.POSITIVE_Y.rotationDegrees(flapAngle));
-        renderWingQuad(matrices, vertexConsumers, light, texture, false);
+        matrices.multiply(FLAP.rotationY(flapRad));
+        renderWingQuad(matrices, vc, light, sprite, false);
         matrices.pop();
 
         // Rechter Flügel (gespiegelt)
         matrices.push();
         matrices.translate(0.0f, WING_Y, 0.1f);
-        matrices.multiply(RotationAxis.POSITIVE_Y.rotationDegrees(-flapAngle));
-        renderWingQuad(matrices, vertexConsumers, light, texture, true);
+        matrices.multiply(FLAP.rotationY(-flapRad));
+        renderWingQuad(matrices, vc, light, sprite, true);
         matrices.pop();
     }
 
     private static void renderWingQuad(MatrixStack matrices,
-                                        VertexConsumerProvider vertexConsumers,
+                                        VertexConsumer vc,
                                         int light,
-                                        Identifier texture,
+                                        CosmeticsAtlas.Sprite sprite,
                                         boolean mirrored) {
-        VertexConsumer vc = vertexConsumers.getBuffer(RenderLayer.getEntityTranslucent(texture));
+        AtlasRegion uv = sprite.region();
         Matrix4f matrix = matrices.peek().getPositionMatrix();
 
         float w = WING_W * (mirrored ? -1 : 1);
         float h = WING_H;
 
-        // UV: linke Hälfte für linken Flügel, rechte Hälfte für rechten
-        float u0 = mirrored ? 0.5f : 0.0f;
-        float u1 = mirrored ? 1.0f : 0.5f;
+        // UV: linke Hälfte für linken Flügel, rechte Hälfte für rechten (in Atlas-UVs umgerechnet)
+        float u0 = uv.u(mirrored ? 0.5f : 0.0f);
+        float u1 = uv.u(mirrored ? 1.0f : 0.5f);
+        float v0 = uv.v(0f), v1 = uv.v(1f);
 
         vc.vertex(matrix, 0, 0, 0).color(255, 255, 255, 230)
-                .texture(mirrored ? u1 : u0, 1f).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
+                .texture(mirrored ? u1 : u0, v1).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
         vc.vertex(matrix, 0, h, 0).color(255, 255, 255, 230)
-                .texture(mirrored ? u1 : u0, 0f).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
+                .texture(mirrored ? u1 : u0, v0).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
         vc.vertex(matrix, w, h, 0).color(255, 255, 255, 230)
-                .texture(mirrored ? u0 : u1, 0f).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
+                .texture(mirrored ? u0 : u1, v0).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
         vc.vertex(matrix, w, 0, 0).color(255, 255, 255, 230)
-                .texture(mirrored ? u0 : u1, 1f).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
+                .texture(mirrored ? u0 : u1, v1).overlay(OverlayTexture.DEFAULT_UV).light(light).normal(0, 0, 1);
     }
 }
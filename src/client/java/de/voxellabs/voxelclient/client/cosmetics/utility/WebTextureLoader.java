@@ -1,96 +1,148 @@
 package de.voxellabs.voxelclient.client.cosmetics.utility;
 
+import de.voxellabs.voxelclient.client.utils.TexturePipeline;
+import de.voxellabs.voxelclient.client.utils.TextureRegistry;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.texture.NativeImage;
-import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.util.Identifier;
 
-import java.io.InputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Lädt PNG-Texturen von einer URL und registriert sie als Minecraft-Textur.
- * Die Textur-Daten liegen vollständig auf dem Server — keine lokalen Dateien nötig.
+ * Heruntergeladene Bilder landen im {@link de.voxellabs.voxelclient.client.utils.TextureDiskCache}
+ * und stehen nach einem Neustart ohne CDN-Zugriff bereit.
+ * Dekodieren und Hochladen übernimmt die {@link TexturePipeline}.
+ *
+ * Single-Flight pro kanonischer URL: alle Nutzer (Capes, Katalog-Karten, Einzeltexturen
+ * der Renderer) teilen sich einen Download und eine GPU-Textur. Der Identifier wird aus
+ * der URL abgeleitet ({@code voxelclient:dynamic/<hash>}), nicht aus dem Aufrufer.
  */
 public class WebTextureLoader {
 
-    private static final HttpClient HTTP = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
+    // kanonische URL → registrierter Identifier bzw. laufender Ladevorgang
+    private static final Map<String, Identifier>                    LOADED   = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<Identifier>> IN_FLIGHT = new ConcurrentHashMap<>();
+    // Fehlgeschlagene/abgelehnte URLs → Zeitpunkt; nicht jeden Frame neu versuchen
+    private static final Map<String, Long>                          FAILED   = new ConcurrentHashMap<>();
+    private static final long RETRY_FAILED_MS = 5 * 60 * 1000L;
+    // Roh-URL → kanonische URL; Katalog-URLs sind endlich, die Auflösung läuft pro Frame
+    private static final Map<String, String>                        CANONICAL = new ConcurrentHashMap<>();
 
-    // URL → registrierter Minecraft-Identifier
-    private static final Map<String, Identifier> LOADED  = new ConcurrentHashMap<>();
-    private static final Map<String, Boolean>    LOADING = new ConcurrentHashMap<>();
+    // Vom VRAM-Budget zerstörte Texturen vergessen → beim nächsten Zugriff neu laden
+    static {
+        TextureRegistry.addEvictionListener(id -> LOADED.values().remove(id));
+    }
 
     /**
-     * Gibt den Identifier für eine URL zurück.
+     * Gibt den Identifier für eine URL zurück (Render-Pfad, blockiert nie).
      * Gibt null zurück solange die Textur noch heruntergeladen wird.
+     * {@code limits} gelten für den ersten Ladevorgang einer URL – alle Nutzer derselben
+     * URL gehören zum selben Cosmetic-Typ und fragen dieselbe Größe an.
      */
-    public static Identifier getOrLoad(String url, String cacheKey) {
+    public static Identifier getOrLoad(String url, TexturePipeline.Limits limits) {
         if (url == null) return null;
-        if (LOADED.containsKey(url)) return LOADED.get(url);
-        if (!LOADING.containsKey(url)) {
-            LOADING.put(url, true);
-            loadAsync(url, cacheKey);
+        String key = canonical(url);
+        Identifier loaded = LOADED.get(key);
+        if (loaded != null) {
+            TextureRegistry.touch(loaded);
+            return loaded;
         }
+        start(key, limits);
         return null;
     }
 
+    /**
+     * Wie {@link #getOrLoad}, aber als Future – für Nutzer, die eine Referenz halten wollen
+     * (z.B. Capes per {@link TextureRegistry#retain}). Gleichzeitige Aufrufe für dieselbe
+     * URL bekommen dasselbe Future. Callbacks laufen auf dem Render-Thread.
+     */
+    public static CompletableFuture<Identifier> load(String url, TexturePipeline.Limits limits) {
+        String key = canonical(url);
+        Identifier loaded = LOADED.get(key);
+        if (loaded != null) return CompletableFuture.completedFuture(loaded);
+        return start(key, limits);
+    }
+
+    /** Vergisst alle Texturen und gibt unreferenzierte auf der GPU frei. */
     public static void clearCache() {
+        List<Identifier> ids = List.copyOf(LOADED.values());
         LOADED.clear();
-        LOADING.clear();
+        FAILED.clear();
+        // Gehaltene Texturen (Capes) bleiben; ihre Handles geben sie später frei
+        MinecraftClient.getInstance().execute(() -> ids.forEach(id -> {
+            if (!TextureRegistry.isReferenced(id)) TextureRegistry.destroy(id);
+        }));
     }
 
-    private static void loadAsync(String url, String cacheKey) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("User-Agent", "VoxelClient/1.0")
-                .GET()
-                .build();
+    /**
+     * Normalisiert eine URL, damit Schreibvarianten derselben Datei (Groß/Klein im Host,
+     * Standard-Port, Fragment, Leerraum) auf einen Eintrag fallen.
+     */
+    public static String canonical(String url) {
+        String cached = CANONICAL.get(url);
+        if (cached != null) return cached;
+        String canonical = normalize(url);
+        if (CANONICAL.size() < 4096) CANONICAL.put(url, canonical);
+        return canonical;
+    }
 
-        CompletableFuture
-            .supplyAsync(() -> {
-                try {
-                    return HTTP.send(request, HttpResponse.BodyHandlers.ofInputStream());
-                } catch (Exception e) {
-                    System.err.println("[VoxelClient] Textur-Download fehlgeschlagen: " + url);
-                    return null;
-                }
-            })
-            .thenAccept(response -> {
-                if (response == null || response.statusCode() != 200) {
-                    LOADING.remove(url);
-                    return;
-                }
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        try {
+            URI uri = URI.create(trimmed);
+            if (uri.getScheme() == null || uri.getHost() == null) return trimmed;
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if (("https".equals(scheme) && port == 443) || ("http".equals(scheme) && port == 80)) port = -1;
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT)
+                    + (port != -1 ? ":" + port : "")
+                    + path
+                    + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        } catch (IllegalArgumentException e) {
+            return trimmed;
+        }
+    }
 
-                // Texturen müssen auf dem Main-Thread registriert werden
-                MinecraftClient.getInstance().execute(() -> {
-                    try (InputStream stream = response.body()) {
-                        NativeImage image = NativeImage.read(stream);
-                        NativeImageBackedTexture texture = new NativeImageBackedTexture(image);
+    // ── Intern ────────────────────────────────────────────────────────────────
 
-                        Identifier id = Identifier.of("voxelclient", "dynamic/" + cacheKey
-                                .replaceAll("[^a-z0-9_.-]", "_").toLowerCase());
+    private static CompletableFuture<Identifier> start(String key, TexturePipeline.Limits limits) {
+        CompletableFuture<Identifier> existing = IN_FLIGHT.get(key);
+        if (existing != null) return existing;
+        Long failedAt = FAILED.get(key);
+        if (failedAt != null && System.currentTimeMillis() - failedAt < RETRY_FAILED_MS) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Textur zuletzt fehlgeschlagen: " + key));
+        }
 
-                        MinecraftClient.getInstance()
-                                .getTextureManager()
-                                .registerTexture(id, texture);
+        CompletableFuture<Identifier> future = new CompletableFuture<>();
+        existing = IN_FLIGHT.putIfAbsent(key, future);
+        if (existing != null) return existing;
 
-                        LOADED.put(url, id);
-                        LOADING.remove(url);
+        // Disk-Cache/CDN → Dekodieren (Worker-Pool) → Upload im Frame-Budget (Render-Thread)
+        TexturePipeline.loadUrl(idFor(key), key, limits).whenComplete((registered, error) -> {
+            if (error == null) {
+                LOADED.put(key, registered);
+                FAILED.remove(key);
+            } else {
+                FAILED.put(key, System.currentTimeMillis());
+                System.err.println("[VoxelClient] Textur-Fehler (" + key + "): " + error.getMessage());
+            }
+            IN_FLIGHT.remove(key);
+            if (error == null) future.complete(registered);
+            else future.completeExceptionally(error);
+        });
+        return future;
+    }
 
-                    } catch (Exception e) {
-                        System.err.println("[VoxelClient] Textur-Fehler (" + url + "): " + e.getMessage());
-                        LOADING.remove(url);
-                    }
-                });
-            });
+    private static Identifier idFor(String key) {
+        String hash = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+        return Identifier.of("voxelclient", "dynamic/" + hash);
     }
 }
@@ -1,6 +1,7 @@
 package de.voxellabs.voxelclient.client.discord;
 
 import com.google.gson.JsonObject;
+import de.voxellabs.voxelclient.client.utils.HttpGateway;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import java.io.*;
 import java.nio.ByteBuffer;
@@ -271,15 +272,17 @@ public class DiscordRPCManager {
         String iconUrl = "https://api.mcsrvstat.us/icon/" + cleanAddress;
 
         try {
-            java.net.HttpURLConnection conn = (java.net.HttpURLConnection)
-                    java.net.URI.create(iconUrl).toURL().openConnection();
-            conn.setRequestMethod("HEAD");
-            conn.setConnectTimeout(3_000);
-            conn.setReadTimeout(3_000);
-            conn.setRequestProperty("User-Agent", "VoxelClient-DiscordRPC/1.0");
-
-            int status      = conn.getResponseCode();
-            String contType = conn.getContentType();
+            java.net.http.HttpRequest req = HttpGateway.request(iconUrl)
+                    .timeout(java.time.Duration.ofSeconds(3))
+                    .setHeader("User-Agent", "VoxelClient-DiscordRPC/1.0")
+                    .method("HEAD", java.net.http.HttpRequest.BodyPublishers.noBody())
+                    .build();
+            // Läuft bereits auf einem Virtual Thread → blockierendes join() ist ok
+            java.net.http.HttpResponse<Void> resp = HttpGateway.send(req,
+                    java.net.http.HttpResponse.BodyHandlers.discarding()).join();
+
+            int status      = resp.statusCode();
+            String contType = resp.headers().firstValue("Content-Type").orElse(null);
 
             if (status == 200 && contType != null && contType.startsWith("image/")) {
                 return iconUrl;
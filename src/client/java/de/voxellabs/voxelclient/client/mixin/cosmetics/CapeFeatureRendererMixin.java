@@ -1,7 +1,6 @@
 package de.voxellabs.voxelclient.client.mixin.cosmetics;
 
-import de.voxellabs.voxelclient.client.cosmetics.CosmeticsManager;
-import de.voxellabs.voxelclient.client.utils.RenderStateUuidCache;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsRenderState;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.entity.feature.CapeFeatureRenderer;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
@@ -11,7 +10,6 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import java.util.UUID;
 
 /**
  * Injects a custom cape texture override into the vanilla CapeFeatureRenderer.
@@ -41,10 +39,7 @@ public abstract class CapeFeatureRendererMixin {
                           int i, PlayerEntityRenderState playerEntityRenderState,
                           float f, float g, CallbackInfo ci) {
 
-        UUID uuid = RenderStateUuidCache.get(playerEntityRenderState);
-        if (uuid == null) return;
-
-        Identifier capeTexture = CosmeticsManager.getCapeTexture(uuid);
+        Identifier capeTexture = CosmeticsRenderState.of(playerEntityRenderState).cape();
         if (capeTexture == null) return;
         // TODO: Cape-Geometrie mit capeTexture rendern
     }
@@ -1,7 +1,6 @@
 package de.voxellabs.voxelclient.client.mixin.cosmetics;
 
 import de.voxellabs.voxelclient.client.cosmetics.renderer.CosmeticsFeatureRenderer;
-import de.voxellabs.voxelclient.client.cosmetics.utility.CosmeticsStateMap;
 import net.minecraft.client.network.AbstractClientPlayerEntity;
 import net.minecraft.client.render.entity.EntityRendererFactory;
 import net.minecraft.client.render.entity.LivingEntityRenderer;
@@ -27,11 +26,5 @@ public abstract class CosmeticsRendererMixin
         CosmeticsFeatureRenderer.register();
     }
 
-    // Nur UUID in die StateMap schreiben – KEIN API-Call hier!
-    @Inject(method = "updateRenderState", at = @At("RETURN"))
-    private void captureUuid(AbstractClientPlayerEntity player,
-                             PlayerEntityRenderState state,
-                             float tickDelta, CallbackInfo ci) {
-        CosmeticsStateMap.put(state, player.getUuid()); // NUR das!
-    }
+    // Snapshot für die Feature-Renderer setzt CosmeticsStateMixin (updateRenderState)
 }
\ No newline at end of file
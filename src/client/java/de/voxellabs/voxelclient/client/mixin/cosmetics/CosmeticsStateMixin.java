@@ -1,7 +1,7 @@
 package de.voxellabs.voxelclient.client.mixin.cosmetics;
 
-import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiClient;
-import de.voxellabs.voxelclient.client.cosmetics.utility.CosmeticsStateMap;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsRenderState;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsSnapshot;
 import net.minecraft.client.network.AbstractClientPlayerEntity;
 import net.minecraft.client.render.entity.PlayerEntityRenderer;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
@@ -10,11 +10,11 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.UUID;
-
 /**
- * Speichert die UUID des Spielers im RenderState und
- * startet automatisch einen Cosmetics-Prefetch.
+ * Löst die Cosmetics des Spielers einmal pro Frame auf und legt den
+ * {@link CosmeticsSnapshot} im RenderState ab.
+ * Geladen wird nicht hier (Render-Thread), sondern nach dem Handshake
+ * bzw. im Hintergrund durch den RefreshScheduler.
  */
 @Mixin(PlayerEntityRenderer.class)
 public abstract class CosmeticsStateMixin {
@@ -23,12 +23,12 @@ public abstract class CosmeticsStateMixin {
         method = "updateRenderState(Lnet/minecraft/client/network/AbstractClientPlayerEntity;Lnet/minecraft/client/render/entity/state/PlayerEntityRenderState;F)V",
         at = @At("TAIL")
     )
-    private void captureUuid(AbstractClientPlayerEntity entity,
-                              PlayerEntityRenderState state,
-                              float tickDelta,
-                              CallbackInfo ci) {
-        UUID uuid = entity.getUuid();
-        CosmeticsStateMap.put(state, uuid);
-        CosmeticsApiClient.prefetch(uuid);
+    private void resolveCosmetics(AbstractClientPlayerEntity entity,
+                                  PlayerEntityRenderState state,
+                                  float tickDelta,
+                                  CallbackInfo ci) {
+        // Der RenderState wird vom Renderer für alle Spieler wiederverwendet → immer neu setzen
+        ((CosmeticsRenderState) state).voxelclient$setCosmetics(CosmeticsSnapshot.resolve(
+                entity.getUuid(), state.squaredDistanceToCamera, state.height));
     }
 }
@@ -1,9 +1,6 @@
 package de.voxellabs.voxelclient.client.mixin.entity;
 
-import de.voxellabs.voxelclient.client.badge.BadgeApiClient;
-import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
-import de.voxellabs.voxelclient.client.utils.VoxelClientNetwork;
-import net.minecraft.client.MinecraftClient;
+import de.voxellabs.voxelclient.client.badge.BadgeDecorations;
 import net.minecraft.client.network.AbstractClientPlayerEntity;
 import net.minecraft.client.render.entity.PlayerEntityRenderer;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
@@ -12,8 +9,6 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.UUID;
-
 @Mixin(value = PlayerEntityRenderer.class)
 public abstract class PlayerNameTagMixin {
 
@@ -27,31 +22,6 @@ public abstract class PlayerNameTagMixin {
                              CallbackInfo ci) {
 
         if (state.name == null) return;
-        UUID uuid = entity.getUuid();
-        if (!VoxelClientNetwork.isVoxelUser(uuid)) return;
-
-        String prefix = resolveBadgePrefix(uuid);
-        if (prefix == null) return;
-        if (!state.name.startsWith(prefix))
-            state.name = prefix + state.name;
-    }
-
-    private static String resolveBadgePrefix(UUID uuid) {
-        MinecraftClient mc = MinecraftClient.getInstance();
-        boolean isOwnPlayer = mc.player != null && mc.player.getUuid().equals(uuid);
-
-        if (isOwnPlayer) {
-            int activeId = VoxelClientConfig.get().activeBadgeId;
-            if (activeId == 0) return null;
-            BadgeApiClient.CachedBadge badge = BadgeApiClient.getBadgeById(activeId);
-            if (badge == null) return null;
-            return BadgeApiClient.formatColor(badge.color)
-                    + (badge.icon != null ? badge.icon : "✦") + " §r";
-        }
-
-        BadgeApiClient.CachedBadge badge = BadgeApiClient.getBadge(uuid);
-        if (badge == null) return null;
-        return BadgeApiClient.formatColor(badge.color)
-                + (badge.icon != null ? badge.icon : "✦") + " §r";
+        state.name = BadgeDecorations.decorateNametag(entity.getUuid(), state.name);
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,28 @@
 package de.voxellabs.voxelclient.client.mixin.entity;
 
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsRenderState;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsSnapshot;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 
-import java.util.UUID;
-
 /**
- * Erweitert PlayerEntityRenderState um ein öffentliches UUID-Feld.
- * Wird von CosmeticsStateMixin befüllt und von CosmeticsFeatureRenderer gelesen.
+ * Erweitert PlayerEntityRenderState um den aufgelösten {@link CosmeticsSnapshot}.
+ * Wird von CosmeticsStateMixin befüllt und von den Cosmetics-Renderern gelesen.
  */
 @Mixin(PlayerEntityRenderState.class)
-public class PlayerRenderStateMixin {
+public class PlayerRenderStateMixin implements CosmeticsRenderState {
 
     @Unique
-    public UUID uuid = null;
+    private CosmeticsSnapshot voxelclient$cosmetics = CosmeticsSnapshot.NONE;
+
+    @Override
+    public CosmeticsSnapshot voxelclient$getCosmetics() {
+        return voxelclient$cosmetics;
+    }
+
+    @Override
+    public void voxelclient$setCosmetics(CosmeticsSnapshot snapshot) {
+        voxelclient$cosmetics = snapshot;
+    }
 }
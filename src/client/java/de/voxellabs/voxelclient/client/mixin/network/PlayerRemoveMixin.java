@@ -0,0 +1,23 @@
+package de.voxellabs.voxelclient.client.mixin.network;
+
+import de.voxellabs.voxelclient.client.utils.PlayerCacheLifecycle;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.packet.s2c.play.PlayerRemoveS2CPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Meldet Spieler, die aus der Tab-Liste entfernt werden, an {@link PlayerCacheLifecycle}.
+ * TAIL statt HEAD: der Handler läuft zuerst auf dem Netty-Thread an und wird dann
+ * auf dem Main-Thread erneut ausgeführt – erst dort kommt er bis zum Ende.
+ */
+@Mixin(ClientPlayNetworkHandler.class)
+public abstract class PlayerRemoveMixin {
+
+    @Inject(method = "onPlayerRemove", at = @At("TAIL"))
+    private void onPlayersRemoved(PlayerRemoveS2CPacket packet, CallbackInfo ci) {
+        PlayerCacheLifecycle.onPlayersRemoved(packet.profileIds());
+    }
+}
@@ -1,15 +1,20 @@
 package de.voxellabs.voxelclient.client.mixin.ui;
 
+import de.voxellabs.voxelclient.client.cosmetics.renderer.CosmeticsClock;
 import de.voxellabs.voxelclient.client.ui.module.utility.ZoomFeature;
+import de.voxellabs.voxelclient.client.utils.TexturePipeline;
 import net.minecraft.client.render.GameRenderer;
 import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.RenderTickCounter;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 /**
  * Intercepts FOV calculation to apply zoom and smooth transitions.
+ * Also drives the per-frame cosmetics clock and texture upload budget (in-game and in menus).
  */
 @Mixin(GameRenderer.class)
 public class GameRendererMixin {
@@ -27,4 +32,13 @@ public class GameRendererMixin {
             cir.setReturnValue((float) newFov);
         }
     }
+
+    @Inject(
+            method = "render(Lnet/minecraft/client/render/RenderTickCounter;Z)V",
+            at = @At("HEAD")
+    )
+    private void onRenderFrame(RenderTickCounter tickCounter, boolean tick, CallbackInfo ci) {
+        CosmeticsClock.onFrame(tickCounter);
+        TexturePipeline.onFrame();
+    }
 }
@@ -1,13 +1,20 @@
 package de.voxellabs.voxelclient.client.ui.gui;
 
 import de.voxellabs.voxelclient.client.badge.BadgeApiClient;
+import de.voxellabs.voxelclient.client.badge.BadgeCatalog;
+import de.voxellabs.voxelclient.client.badge.BadgeCatalogClient;
 import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
 import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiClient;
-import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiResponse;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticSlot;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsProfile;
 import de.voxellabs.voxelclient.client.cosmetics.CosmeticsCatalog;
 import de.voxellabs.voxelclient.client.cosmetics.CosmeticsCatalogClient;
+import de.voxellabs.voxelclient.client.cosmetics.atlas.AtlasRegion;
+import de.voxellabs.voxelclient.client.cosmetics.atlas.CosmeticsAtlas;
 import de.voxellabs.voxelclient.client.cosmetics.utility.WebTextureLoader;
 import de.voxellabs.voxelclient.client.ui.hud.HudEditorScreen;
+import de.voxellabs.voxelclient.client.utils.HttpGateway;
+import de.voxellabs.voxelclient.client.utils.TexturePipeline;
 import de.voxellabs.voxelclient.client.version.VersionChecker;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
@@ -18,8 +25,6 @@ import net.minecraft.util.Identifier;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -63,6 +68,8 @@ public class ClientModScreen extends Screen {
     private static final int CARD_H       = 128;
     private static final int CARD_PREVIEW = 64;
     private static final int CARD_GAP     = 8;
+    // Normierte Sprite-UVs → Pixel-UVs für drawTexture (fein genug für Atlas-Seiten)
+    private static final int SPRITE_UV_SCALE = 1024;
 
     private static final Identifier LOGO_TEXTURE =
             Identifier.of("voxelclient", "icons/icon.png");
@@ -87,13 +94,9 @@ public class ClientModScreen extends Screen {
     // true sobald der async Fetch fertig ist — verhindert "Gesperrt" während des Ladens
     private volatile boolean playerDataReady = false;
 
-    // ── Alle Badges (public endpoint) ────────────────────────────────────────
-    private static class BadgeInfo {
-        int    id;
-        String name, display, color, icon;
-    }
-    private final List<BadgeInfo> allBadges    = new ArrayList<>();
-    private volatile boolean      badgesLoading = true;
+    // ── Alle Badges (Badge-Katalog, siehe BadgeCatalogClient) ────────────────
+    private volatile List<BadgeCatalog.Badge> allBadges     = List.of();
+    private volatile boolean                  badgesLoading = true;
 
     // Badges die der eigene Spieler besitzt (aus /api/players/:uuid/badges)
     private final List<Integer>   ownedBadgeIds  = new ArrayList<>();
@@ -137,68 +140,35 @@ public class ClientModScreen extends Screen {
         MinecraftClient mc = MinecraftClient.getInstance();
         if (mc.player == null) { ownedBadgesLoading = false; return; }
         String uuid = mc.player.getUuid().toString();
-        Thread.ofVirtual().start(() -> {
-            try {
-                java.net.http.HttpClient http = java.net.http.HttpClient.newBuilder()
-                        .connectTimeout(java.time.Duration.ofSeconds(5)).build();
-                java.net.http.HttpRequest req = java.net.http.HttpRequest.newBuilder()
-                        .uri(java.net.URI.create("https://api.voxellabs.de/api/players/" + uuid))
-                        .header("User-Agent", "VoxelClient/1.0")
-                        .GET().build();
-                java.net.http.HttpResponse<String> resp =
-                        http.send(req, java.net.http.HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() == 200) {
-                    com.google.gson.JsonObject json =
-                            new Gson().fromJson(resp.body(), com.google.gson.JsonObject.class);
-                    if (json.has("owned_badge_ids")) {
-                        com.google.gson.JsonArray arr = json.getAsJsonArray("owned_badge_ids");
-                        synchronized (ownedBadgeIds) {
-                            ownedBadgeIds.clear();
-                            arr.forEach(el -> ownedBadgeIds.add(el.getAsInt()));
-                        }
+        HttpRequest req = HttpGateway.request("https://api.voxellabs.de/api/players/" + uuid)
+                .timeout(Duration.ofSeconds(5))
+                .GET().build();
+        HttpGateway.send(req, HttpResponse.BodyHandlers.ofString()).thenAccept(resp -> {
+            if (resp.statusCode() == 200) {
+                JsonObject json = new Gson().fromJson(resp.body(), JsonObject.class);
+                if (json.has("owned_badge_ids")) {
+                    JsonArray arr = json.getAsJsonArray("owned_badge_ids");
+                    synchronized (ownedBadgeIds) {
+                        ownedBadgeIds.clear();
+                        arr.forEach(el -> ownedBadgeIds.add(el.getAsInt()));
                     }
                 }
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Owned-Badges Fehler: " + e.getMessage());
-            } finally {
-                ownedBadgesLoading = false;
             }
+        }).whenComplete((v, e) -> {
+            if (e != null) System.err.println("[VoxelClient] Owned-Badges Fehler: " + e.getMessage());
+            ownedBadgesLoading = false;
         });
     }
 
     private void loadAllBadges() {
         badgesLoading = true;
-        allBadges.clear();
-        Thread.ofVirtual().start(() -> {
-            try {
-                HttpClient http = HttpClient.newBuilder()
-                        .connectTimeout(Duration.ofSeconds(5)).build();
-                HttpRequest req = HttpRequest.newBuilder()
-                        .uri(URI.create("https://api.voxellabs.de/api/badges/public"))
-                        .header("User-Agent", "VoxelClient/1.0")
-                        .GET().build();
-                HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() == 200) {
-                    JsonArray arr = new Gson().fromJson(resp.body(), JsonArray.class);
-                    for (var el : arr) {
-                        JsonObject o = el.getAsJsonObject();
-                        BadgeInfo b  = new BadgeInfo();
-                        b.id      = o.get("id").getAsInt();
-                        b.name    = o.get("name").getAsString();
-                        b.display = o.get("display").getAsString();
-                        b.color   = o.get("color").getAsString();
-                        b.icon    = o.get("icon").getAsString();
-                        allBadges.add(b);
-                        // Katalog befüllen damit Mixins per ID nachschlagen können
-                        BadgeApiClient.putCatalogBadge(b.id, b.name, b.display, b.color, b.icon);
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("[VoxelClient] Badges laden fehlgeschlagen: " + e.getMessage());
-            } finally {
-                badgesLoading = false;
-            }
+        // Katalog liegt meist schon vor (Platte/Start) → Callback kommt sofort
+        BadgeCatalogClient.fetch(catalog -> {
+            allBadges     = catalog.badges;
+            badgesLoading = false;
         });
+        // Noch kein Katalog und gerade kein Request unterwegs → leer anzeigen statt ewig laden
+        if (BadgeCatalogClient.get() == null && !BadgeCatalogClient.isLoading()) badgesLoading = false;
     }
 
     private void loadBadge() {
@@ -374,7 +344,7 @@ public class ClientModScreen extends Screen {
         MinecraftClient mc = MinecraftClient.getInstance();
         // playerData kann null sein wenn der Spieler nicht auf dem Server registriert ist
         // → alle Items werden als gesperrt angezeigt (owned_item_ids leer)
-        CosmeticsApiResponse playerData = mc.player != null
+        CosmeticsProfile playerData = mc.player != null
                 ? CosmeticsApiClient.getCosmetics(mc.player.getUuid()) : null;
 
         // Badges-Tab separat behandeln
@@ -406,6 +376,10 @@ public class ClientModScreen extends Screen {
         }
     }
 
+    private static CosmeticsAtlas.Sprite spriteOf(Identifier texture) {
+        return texture != null ? new CosmeticsAtlas.Sprite(texture, AtlasRegion.FULL) : null;
+    }
+
     private void drawCosmeticCard(DrawContext ctx, int mx, int my,
                                   int x, int y,
                                   CosmeticsCatalog.CatalogItem item,
@@ -433,12 +407,23 @@ public class ClientModScreen extends Screen {
             ctx.drawCenteredTextWithShadow(textRenderer, "🔒",
                     previewX + CARD_PREVIEW / 2, previewY + CARD_PREVIEW / 2 - 4, COL_LOCKED_TEXT);
         } else if (item.url != null && !item.url.isBlank()) {
-            Identifier tex = WebTextureLoader.getOrLoad(item.url, "cositem_" + item.id);
+            // Dieselbe Textur wie im Spiel: Halo/Wings aus dem Atlas, sonst die geteilte Einzeltextur
+            TexturePipeline.Limits limits = item.slot() != null
+                    ? item.slot().textureLimits() : TexturePipeline.Limits.DEFAULT;
+            CosmeticsAtlas.Sprite sprite = item.slot() == CosmeticSlot.HALO || item.slot() == CosmeticSlot.WINGS
+                    ? CosmeticsAtlas.resolve(item.url, limits)
+                    : spriteOf(WebTextureLoader.getOrLoad(item.url, limits));
             ctx.fill(previewX, previewY, previewX + CARD_PREVIEW, previewY + CARD_PREVIEW, 0xFF111122);
-            if (tex != null) {
+            if (sprite != null) {
+                // UVs über eine gedachte Texturgröße von SPRITE_UV_SCALE auf Pixel umrechnen
+                AtlasRegion uv = sprite.region();
                 ctx.drawTexture(net.minecraft.client.render.RenderLayer::getGuiTextured,
-                        tex, previewX, previewY, 0, 0,
-                        CARD_PREVIEW, CARD_PREVIEW, CARD_PREVIEW, CARD_PREVIEW);
+                        sprite.texture(), previewX, previewY,
+                        uv.u0() * SPRITE_UV_SCALE, uv.v0() * SPRITE_UV_SCALE,
+                        CARD_PREVIEW, CARD_PREVIEW,
+                        Math.round((uv.u1() - uv.u0()) * SPRITE_UV_SCALE),
+                        Math.round((uv.v1() - uv.v0()) * SPRITE_UV_SCALE),
+                        SPRITE_UV_SCALE, SPRITE_UV_SCALE);
             } else {
                 ctx.drawCenteredTextWithShadow(textRenderer, "§7...",
                         previewX + CARD_PREVIEW / 2, previewY + CARD_PREVIEW / 2 - 4, COL_TEXT_DIM);
@@ -544,7 +529,7 @@ public class ClientModScreen extends Screen {
 
         int cols = Math.max(1, (w + BADGE_CARD_GAP) / (BADGE_CARD_W + BADGE_CARD_GAP));
         for (int i = 0; i < allBadges.size(); i++) {
-            BadgeInfo badge = allBadges.get(i);
+            BadgeCatalog.Badge badge = allBadges.get(i);
             int col = i % cols;
             int row = i / cols;
             int cx  = x + col * (BADGE_CARD_W + BADGE_CARD_GAP);
@@ -559,13 +544,13 @@ public class ClientModScreen extends Screen {
     private void handleBadgeTabClick(int mx, int my, int x, int y, int w) {
         if (allBadges.isEmpty()) return;
         MinecraftClient mc = MinecraftClient.getInstance();
-        CosmeticsApiResponse playerData = mc.player != null
+        CosmeticsProfile playerData = mc.player != null
                 ? CosmeticsApiClient.getCosmetics(mc.player.getUuid()) : null;
         if (playerData == null) return;
 
         int cols = Math.max(1, (w + BADGE_CARD_GAP) / (BADGE_CARD_W + BADGE_CARD_GAP));
         for (int i = 0; i < allBadges.size(); i++) {
-            BadgeInfo badge = allBadges.get(i);
+            BadgeCatalog.Badge badge = allBadges.get(i);
             int col = i % cols;
             int row = i / cols;
             int cx  = x + col * (BADGE_CARD_W + BADGE_CARD_GAP);
@@ -588,7 +573,7 @@ public class ClientModScreen extends Screen {
     }
 
     private void drawBadgeCard(DrawContext ctx, int mx, int my,
-                               int x, int y, BadgeInfo badge,
+                               int x, int y, BadgeCatalog.Badge badge,
                                boolean owned, boolean active) {
         boolean hov = owned && mx >= x && mx < x + BADGE_CARD_W && my >= y && my < y + BADGE_CARD_H;
 
@@ -725,7 +710,7 @@ public class ClientModScreen extends Screen {
                     }
                     CosmeticsCatalog catalog = CosmeticsCatalogClient.get();
                     if (catalog == null) break;
-                    CosmeticsApiResponse playerData = mc.player != null
+                    CosmeticsProfile playerData = mc.player != null
                             ? CosmeticsApiClient.getCosmetics(mc.player.getUuid()) : null;
                     if (playerData == null) break;
 
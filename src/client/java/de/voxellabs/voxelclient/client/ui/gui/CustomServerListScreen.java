@@ -4,6 +4,8 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import de.voxellabs.voxelclient.client.ui.animation.AnimatedScreen;
+import de.voxellabs.voxelclient.client.utils.TexturePipeline;
+import de.voxellabs.voxelclient.client.utils.TextureRegistry;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -11,11 +13,8 @@ import net.minecraft.client.gui.screen.multiplayer.ConnectScreen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.network.ServerAddress;
 import net.minecraft.client.network.ServerInfo;
-import net.minecraft.client.texture.NativeImage;
-import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.util.Base64;
 import java.io.DataOutputStream;
@@ -42,6 +41,11 @@ public class CustomServerListScreen extends AnimatedScreen {
     private static final Map<String, String> PLAYERS_CACHE  = new ConcurrentHashMap<>();
     private static final Map<String, Identifier> FAVICON_CACHE = new ConcurrentHashMap<>();
 
+    // Vom VRAM-Budget zerstörte Icons vergessen; der nächste Ping lädt sie neu
+    static {
+        TextureRegistry.addEvictionListener(id -> FAVICON_CACHE.values().remove(id));
+    }
+
     // ── State ─────────────────────────────────────────────────────────────────
     private final Screen parent;
     private final List<UserServer> userServers = new ArrayList<>();
@@ -198,6 +202,7 @@ public class CustomServerListScreen extends AnimatedScreen {
         Identifier favicon = FAVICON_CACHE.get(ps.address);
         int textStartX = x + 8;
         if (favicon != null) {
+            TextureRegistry.touch(favicon);
             ctx.drawTexture(net.minecraft.client.render.RenderLayer::getGuiTextured,
                     favicon, x + 6, y + 2, 0, 0, 32, 32, 32, 32);
             textStartX = x + 42;
@@ -234,6 +239,7 @@ public class CustomServerListScreen extends AnimatedScreen {
         Identifier faviconU = FAVICON_CACHE.get(us.address);
         int userTextX = x + 8;
         if (faviconU != null) {
+            TextureRegistry.touch(faviconU);
             ctx.drawTexture(net.minecraft.client.render.RenderLayer::getGuiTextured,
                     faviconU, x + 6, y + 2, 0, 0, 32, 32, 32, 32);
             userTextX = x + 42;
@@ -551,17 +557,12 @@ public class CustomServerListScreen extends AnimatedScreen {
             String data = base64.contains(",") ? base64.split(",", 2)[1] : base64;
             byte[] bytes = Base64.getDecoder().decode(data);
 
-            NativeImage img = NativeImage.read(new ByteArrayInputStream(bytes));
-            NativeImageBackedTexture texture = new NativeImageBackedTexture(img);
-
             String id = "voxelclient:server_icon_" + address.replace(".", "_").replace(":", "_");
             Identifier identifier = Identifier.of(id);
 
-            // Muss auf dem Render-Thread registriert werden
-            MinecraftClient.getInstance().execute(() -> {
-                MinecraftClient.getInstance().getTextureManager().registerTexture(identifier, texture);
-                FAVICON_CACHE.put(address, identifier);
-            });
+            // Dekodieren im Worker-Pool, Registrierung auf dem Render-Thread (im Frame-Budget)
+            TexturePipeline.load(identifier, bytes, TexturePipeline.Limits.ICON)
+                    .thenAccept(registered -> FAVICON_CACHE.put(address, registered));
         } catch (Exception e) {
             // Kein Favicon → kein Icon, kein Problem
         }
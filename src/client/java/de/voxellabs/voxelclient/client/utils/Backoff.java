@@ -0,0 +1,23 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponentielles Backoff mit Jitter.
+ *
+ * Verzögerung für Versuch n (ab 1): zufällig zwischen 50 % und 100 % von
+ * {@code min(base · 2^(n-1), max)}. Der Jitter verhindert, dass viele Clients bzw.
+ * viele UUIDs nach einem Ausfall im selben Takt erneut anfragen.
+ */
+public final class Backoff {
+
+    private Backoff() {}
+
+    public static long delayMs(int attempt, long baseMs, long maxMs) {
+        int shift = Math.max(0, Math.min(attempt - 1, 30));
+        long capped = Math.min(maxMs, baseMs << shift);
+        if (capped <= 0) capped = maxMs; // Überlauf
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,558 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Gemeinsamer Batch-Sammler für alle UUID-basierten Backend-Daten (Cosmetics, Badges, ...).
+ *
+ * Statt dass jeder API-Client einen eigenen Sammler, eigenen Scheduler-Thread und
+ * eigenen Request pro Flush hat, melden sich die Clients hier mit einem {@link Channel}
+ * an (Endpoint + Decoder). Ein einziger Timer sammelt alle UUIDs und schickt sie dann
+ * an den Kombi-Endpoint:
+ *
+ *   POST /api/batch
+ *   { "uuids": ["...", "..."], "include": ["cosmetics", "badges"] }
+ *   → { "<uuid>": { "cosmetics": {...}, "badges": {...} }, ... }
+ *
+ * Kennt der Server den Kombi-Endpoint nicht (404/405/501), wird für den Rest der
+ * Sitzung auf die einzelnen Batch-Endpoints der Channels zurückgefallen.
+ *
+ * Flush-Strategie:
+ *   - Chunks: ein Flush wird in Requests zu höchstens {@code maxBatch} UUIDs zerlegt
+ *   - Parallel: bis zu {@link #MAX_IN_FLIGHT} Chunks gleichzeitig, Rest wartet in der Queue
+ *   - Adaptives Fenster: bei vielen Ankünften kurz (bzw. sofort bei vollem Batch),
+ *     bei vereinzelten Ankünften länger, damit nicht lauter Mini-Requests entstehen
+ *   - Antworten werden direkt aus dem InputStream gelesen (JsonReader, ein Durchgang);
+ *     jeder Decoder liest seinen Eintrag selbst als typisiertes Objekt – kein String,
+ *     kein JsonObject-Baum für den gesamten Payload
+ *   - Circuit Breaker pro Endpoint: ist er offen, werden Chunks ohne Request als
+ *     fehlgeschlagen gemeldet (die Clients kümmern sich um Backoff)
+ *   - Validatoren: kennt ein Channel den ETag einer UUID (Disk-Cache), wird er im Body
+ *     mitgeschickt ({@code "etags": {"<uuid>": "..."}}, beim Kombi-Endpoint pro Channel).
+ *     Unveränderte Einträge beantwortet der Server mit dem String {@value #NOT_MODIFIED}
+ *     statt des Objekts – ein Warm-Rejoin bleibt so ein Batch statt N Conditional GETs.
+ *     Server ohne Unterstützung ignorieren das Feld und liefern die vollen Daten.
+ */
+public final class BatchPipeline {
+
+    private static final String   COMBINED_URL     = "https://api.voxellabs.de/api/batch";
+    private static final Duration COMBINED_TIMEOUT = Duration.ofSeconds(8);
+
+    // ── Adaptives Fenster ─────────────────────────────────────────────────────
+    private static final long   MIN_WINDOW_MS     = 250L;
+    private static final long   DEFAULT_WINDOW_MS = 1500L;
+    private static final long   MAX_WINDOW_MS     = 4000L;
+    private static final double TARGET_BATCH      = 25.0;  // so viele UUIDs pro Flush anstreben
+    private static final double RATE_SMOOTHING    = 0.3;   // EWMA-Gewicht der letzten Messung
+
+    private static final int MAX_IN_FLIGHT = 4;
+
+    /** Antwortwert für eine UUID, deren mitgeschickter ETag noch aktuell ist. */
+    public static final String NOT_MODIFIED = "not_modified";
+
+    /** Verarbeitet die Antwort eines Channels pro UUID. */
+    public interface Decoder {
+        /**
+         * Liest den Eintrag für {@code uuid} direkt aus dem Stream. Der Reader steht auf
+         * dem Wert (kann JSON {@code null} sein) und muss genau diesen Wert konsumieren.
+         */
+        void read(UUID uuid, JsonReader reader) throws IOException;
+
+        /** Der Server hat für diese UUID nichts geliefert. */
+        void missing(UUID uuid);
+
+        /** Der mitgeschickte ETag ist noch aktuell – gespeicherte Antwort weiterverwenden. */
+        void notModified(UUID uuid);
+
+        /** Request fehlgeschlagen (Netzwerk, HTTP-Fehler, kaputtes JSON). */
+        void fail(UUID uuid);
+    }
+
+    /** Ein Datentyp im Batch: Feldname im Kombi-Endpoint, eigener Fallback-Endpoint, Decoder. */
+    public static final class Channel {
+        final String   key;
+        final String   batchUrl;
+        final int      maxBatch;
+        final Duration timeout;
+        final Decoder  decoder;
+        final Function<UUID, String> etagOf;
+        final CircuitBreaker breaker;
+
+        public Channel(String key, String batchUrl, int maxBatch, Duration timeout, Decoder decoder) {
+            this(key, batchUrl, maxBatch, timeout, decoder, null);
+        }
+
+        /** @param etagOf bekannter ETag einer UUID (oder null) – wird im Batch mitgeschickt */
+        public Channel(String key, String batchUrl, int maxBatch, Duration timeout, Decoder decoder,
+                       Function<UUID, String> etagOf) {
+            this.key = key; this.batchUrl = batchUrl; this.maxBatch = maxBatch;
+            this.timeout = timeout; this.decoder = decoder; this.etagOf = etagOf;
+            this.breaker = new CircuitBreaker("batch:" + key);
+        }
+
+        /** true wenn der Endpoint dieses Channels gerade als nicht verfügbar gilt. */
+        public boolean isOpen() {
+            return breaker.isOpen() || (combinedAvailable && COMBINED_BREAKER.isOpen());
+        }
+    }
+
+    /** Momentaufnahme der Flush-Statistik (für Debug-Ausgaben). */
+    public record Stats(long flushes, long requests, long uuids,
+                        int lastFlushSize, long lastFlushLatencyMs,
+                        long avgFlushLatencyMs, long maxFlushLatencyMs,
+                        long windowMs, int inFlight, int queuedChunks) {}
+
+    /** Ein Request: pro Channel die UUIDs dieses Chunks. */
+    private record Chunk(Map<Channel, List<UUID>> byChannel, boolean combined, FlushTracker flush) {}
+
+    /** Misst einen Flush vom Start bis zum letzten abgeschlossenen Chunk. */
+    private static final class FlushTracker {
+        final long startNanos = System.nanoTime();
+        final int size;
+        final AtomicInteger openChunks = new AtomicInteger();
+        FlushTracker(int size) { this.size = size; }
+    }
+
+    // UUID → Channels, für die diese UUID im nächsten Flush geladen werden soll
+    private static final Map<UUID, Set<Channel>> PENDING = new ConcurrentHashMap<>();
+    private static final Queue<Chunk>            QUEUE   = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger           IN_FLIGHT = new AtomicInteger();
+
+    private static volatile ScheduledFuture<?> batchTimer = null;
+    private static volatile boolean combinedAvailable = true;
+    private static final CircuitBreaker COMBINED_BREAKER = new CircuitBreaker("batch");
+
+    // Ankunftsrate (UUIDs/s) als EWMA, gemessen zwischen zwei Flushes
+    private static final AtomicInteger arrivalsSinceFlush = new AtomicInteger();
+    private static volatile long   lastFlushNanos = System.nanoTime();
+    private static volatile double arrivalRate    = TARGET_BATCH * 1000.0 / DEFAULT_WINDOW_MS;
+    private static volatile long   windowMs       = DEFAULT_WINDOW_MS;
+
+    // Statistik
+    private static final LongAdder  STAT_FLUSHES    = new LongAdder();
+    private static final LongAdder  STAT_REQUESTS   = new LongAdder();
+    private static final LongAdder  STAT_UUIDS      = new LongAdder();
+    private static final LongAdder  STAT_LATENCY_MS = new LongAdder();
+    private static final LongAdder  STAT_COMPLETED  = new LongAdder();
+    private static final AtomicLong STAT_MAX_MS     = new AtomicLong();
+    private static volatile int  lastFlushSize      = 0;
+    private static volatile long lastFlushLatencyMs = 0;
+
+    private static final ScheduledExecutorService SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "VoxelClient-BatchScheduler");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private BatchPipeline() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Merkt eine UUID für den nächsten Flush vor. Dedupe/LOADING liegt beim Aufrufer. */
+    public static void enqueue(Channel channel, UUID uuid) {
+        PENDING.compute(uuid, (k, channels) -> {
+            if (channels == null) channels = ConcurrentHashMap.newKeySet();
+            channels.add(channel);
+            return channels;
+        });
+        arrivalsSinceFlush.incrementAndGet();
+
+        // Queue ist "heiß" → nicht auf das Fenster warten
+        if (PENDING.size() >= channel.maxBatch) {
+            if (batchTimer != null) batchTimer.cancel(false);
+            SCHEDULER.execute(BatchPipeline::flush);
+            return;
+        }
+
+        if (batchTimer == null || batchTimer.isDone()) {
+            batchTimer = SCHEDULER.schedule(BatchPipeline::flush, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Entfernt eine noch nicht gesendete UUID aus einem Channel. */
+    public static void cancel(Channel channel, UUID uuid) {
+        PENDING.computeIfPresent(uuid, (k, channels) -> {
+            channels.remove(channel);
+            return channels.isEmpty() ? null : channels;
+        });
+    }
+
+    /** Entfernt alle noch nicht gesendeten UUIDs eines Channels. */
+    public static void clear(Channel channel) {
+        for (UUID uuid : new ArrayList<>(PENDING.keySet())) cancel(channel, uuid);
+    }
+
+    public static Stats stats() {
+        long completed = STAT_COMPLETED.sum();
+        return new Stats(
+                STAT_FLUSHES.sum(), STAT_REQUESTS.sum(), STAT_UUIDS.sum(),
+                lastFlushSize, lastFlushLatencyMs,
+                completed > 0 ? STAT_LATENCY_MS.sum() / completed : 0,
+                STAT_MAX_MS.get(), windowMs, IN_FLIGHT.get(), QUEUE.size());
+    }
+
+    // ── Flush ─────────────────────────────────────────────────────────────────
+
+    private static synchronized void flush() {
+        updateWindow();
+        if (PENDING.isEmpty()) return;
+
+        Map<UUID, Set<Channel>> drained = new LinkedHashMap<>();
+        for (UUID uuid : new ArrayList<>(PENDING.keySet())) {
+            Set<Channel> channels = PENDING.remove(uuid);
+            if (channels != null && !channels.isEmpty()) drained.put(uuid, channels);
+        }
+        if (drained.isEmpty()) return;
+
+        Set<Channel> involved = new LinkedHashSet<>();
+        drained.values().forEach(involved::addAll);
+
+        FlushTracker tracker = new FlushTracker(drained.size());
+        STAT_FLUSHES.increment();
+
+        if (combinedAvailable && involved.size() > 1) {
+            int cap = involved.stream().mapToInt(c -> c.maxBatch).min().orElse(50);
+            List<UUID> uuids = new ArrayList<>(drained.keySet());
+            for (int i = 0; i < uuids.size(); i += cap) {
+                Map<Channel, List<UUID>> byChannel = new LinkedHashMap<>();
+                for (UUID uuid : uuids.subList(i, Math.min(i + cap, uuids.size()))) {
+                    for (Channel channel : drained.get(uuid)) {
+                        byChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(uuid);
+                    }
+                }
+                submit(new Chunk(byChannel, true, tracker));
+            }
+        } else {
+            Map<Channel, List<UUID>> byChannel = new LinkedHashMap<>();
+            drained.forEach((uuid, channels) -> channels.forEach(channel ->
+                    byChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(uuid)));
+            byChannel.forEach((channel, list) -> submitSingle(channel, list, tracker));
+        }
+        pump();
+    }
+
+    /**
+     * Passt das Sammelfenster an die gemessene Ankunftsrate an:
+     * Fenster ≈ Zeit bis {@link #TARGET_BATCH} UUIDs zusammenkommen, begrenzt auf
+     * [{@link #MIN_WINDOW_MS}, {@link #MAX_WINDOW_MS}].
+     */
+    private static void updateWindow() {
+        long now = System.nanoTime();
+        double elapsedSec = Math.max((now - lastFlushNanos) / 1e9, 0.001);
+        double measured = arrivalsSinceFlush.getAndSet(0) / elapsedSec;
+        lastFlushNanos = now;
+
+        double rate = arrivalRate * (1 - RATE_SMOOTHING) + measured * RATE_SMOOTHING;
+        arrivalRate = rate;
+        long target = rate > 0 ? (long) (TARGET_BATCH / rate * 1000.0) : MAX_WINDOW_MS;
+        windowMs = Math.max(MIN_WINDOW_MS, Math.min(MAX_WINDOW_MS, target));
+    }
+
+    private static void submitSingle(Channel channel, List<UUID> uuids, FlushTracker tracker) {
+        for (int i = 0; i < uuids.size(); i += channel.maxBatch) {
+            List<UUID> part = new ArrayList<>(uuids.subList(i, Math.min(i + channel.maxBatch, uuids.size())));
+            submit(new Chunk(Map.of(channel, part), false, tracker));
+        }
+    }
+
+    private static void submit(Chunk chunk) {
+        chunk.flush.openChunks.incrementAndGet();
+        QUEUE.add(chunk);
+    }
+
+    /** Startet wartende Chunks, solange weniger als {@link #MAX_IN_FLIGHT} unterwegs sind. */
+    private static void pump() {
+        while (!QUEUE.isEmpty()) {
+            int n = IN_FLIGHT.get();
+            if (n >= MAX_IN_FLIGHT) return;
+            if (!IN_FLIGHT.compareAndSet(n, n + 1)) continue;
+
+            Chunk chunk = QUEUE.poll();
+            if (chunk == null) {
+                IN_FLIGHT.decrementAndGet();
+                continue;
+            }
+            STAT_REQUESTS.increment();
+            STAT_UUIDS.add(chunk.byChannel.values().stream().mapToInt(List::size).sum());
+
+            CompletableFuture<Void> request = chunk.combined ? sendCombined(chunk) : sendSingle(chunk);
+            request.whenComplete((v, ex) -> {
+                IN_FLIGHT.decrementAndGet();
+                chunkDone(chunk.flush);
+                pump();
+            });
+        }
+    }
+
+    private static void chunkDone(FlushTracker tracker) {
+        if (tracker.openChunks.decrementAndGet() != 0) return;
+        long ms = (System.nanoTime() - tracker.startNanos) / 1_000_000L;
+        lastFlushSize      = tracker.size;
+        lastFlushLatencyMs = ms;
+        STAT_LATENCY_MS.add(ms);
+        STAT_COMPLETED.increment();
+        STAT_MAX_MS.accumulateAndGet(ms, Math::max);
+        System.out.println("[VoxelClient] Batch-Flush fertig: " + tracker.size + " UUIDs in " + ms
+                + " ms (Fenster " + windowMs + " ms)");
+    }
+
+    // ── Requests ──────────────────────────────────────────────────────────────
+
+    private static CompletableFuture<Void> sendCombined(Chunk chunk) {
+        Map<Channel, List<UUID>> byChannel = chunk.byChannel;
+        Set<UUID> uuids = new LinkedHashSet<>();
+        JsonArray include = new JsonArray();
+        byChannel.forEach((channel, list) -> {
+            uuids.addAll(list);
+            include.add(channel.key);
+        });
+        if (!COMBINED_BREAKER.allowRequest()) {
+            failAll(byChannel);
+            return CompletableFuture.completedFuture(null);
+        }
+        System.out.println("[VoxelClient] Kombi-Batch-Request: " + uuids.size() + " UUIDs " + include);
+
+        JsonObject body = new JsonObject();
+        body.add("uuids", toJsonArray(uuids));
+        body.add("include", include);
+        JsonObject etags = new JsonObject();
+        byChannel.forEach((channel, list) -> {
+            JsonObject known = etagsOf(channel, list);
+            if (known != null) etags.add(channel.key, known);
+        });
+        if (etags.size() > 0) body.add("etags", etags);
+
+        HttpRequest request = HttpGateway.request(COMBINED_URL)
+                .timeout(COMBINED_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+
+        return HttpGateway.send(request, HttpResponse.BodyHandlers.ofInputStream()).handle((resp, ex) -> {
+            COMBINED_BREAKER.record(resp, ex);
+            if (ex != null) {
+                System.err.println("[VoxelClient] Kombi-Batch Fehler: " + ex.getMessage());
+                failAll(byChannel);
+                return null;
+            }
+            int status = resp.statusCode();
+            if (status == 404 || status == 405 || status == 501) {
+                // Server kennt den Kombi-Endpoint nicht → einzeln weiter (gleicher Flush)
+                closeQuietly(resp.body());
+                System.out.println("[VoxelClient] Kombi-Batch nicht verfügbar (" + status + "), nutze Einzel-Endpoints");
+                combinedAvailable = false;
+                byChannel.forEach((channel, list) -> submitSingle(channel, list, chunk.flush));
+                return null;
+            }
+            if (status != 200) {
+                closeQuietly(resp.body());
+                System.err.println("[VoxelClient] Kombi-Batch HTTP " + status);
+                failAll(byChannel);
+                return null;
+            }
+
+            decodeCombined(byChannel, resp.body());
+            return null;
+        });
+    }
+
+    private static CompletableFuture<Void> sendSingle(Chunk chunk) {
+        Map.Entry<Channel, List<UUID>> only = chunk.byChannel.entrySet().iterator().next();
+        Channel channel = only.getKey();
+        List<UUID> uuids = only.getValue();
+        if (!channel.breaker.allowRequest()) {
+            uuids.forEach(channel.decoder::fail);
+            return CompletableFuture.completedFuture(null);
+        }
+        System.out.println("[VoxelClient] Batch-Request (" + channel.key + "): " + uuids.size() + " UUIDs");
+
+        JsonObject body = new JsonObject();
+        body.add("uuids", toJsonArray(uuids));
+        JsonObject etags = etagsOf(channel, uuids);
+        if (etags != null) body.add("etags", etags);
+
+        HttpRequest request = HttpGateway.request(channel.batchUrl)
+                .timeout(channel.timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+
+        return HttpGateway.send(request, HttpResponse.BodyHandlers.ofInputStream()).handle((resp, ex) -> {
+            channel.breaker.record(resp, ex);
+            if (ex != null || resp.statusCode() != 200) {
+                if (resp != null) closeQuietly(resp.body());
+                System.err.println("[VoxelClient] Batch (" + channel.key + ") "
+                        + (ex != null ? "Fehler: " + ex.getMessage() : "HTTP " + resp.statusCode()));
+                uuids.forEach(channel.decoder::fail);
+                return null;
+            }
+
+            decodeSingle(channel, uuids, resp.body());
+            return null;
+        });
+    }
+
+    // ── Antworten lesen ───────────────────────────────────────────────────────
+
+    /**
+     * Liest die Antwort eines Channel-Endpoints ({@code { "<uuid>": {...}, ... }}) in einem
+     * Durchgang aus {@code body} und gibt jeden Eintrag an den Decoder des Channels. Nicht
+     * gelieferte UUIDs gelten als fehlend, nach einem Parse-Fehler als fehlgeschlagen.
+     */
+    static void decodeSingle(Channel channel, List<UUID> uuids, InputStream body) {
+        Map<Channel, Set<UUID>> open = remaining(Map.of(channel, uuids));
+        try (JsonReader reader = reader(body)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                UUID uuid = parseUuid(reader.nextName());
+                if (uuid == null || !open.get(channel).contains(uuid)) reader.skipValue();
+                else deliver(channel, uuid, reader, open);
+            }
+            reader.endObject();
+            missingAll(open);
+        } catch (Exception e) {
+            System.err.println("[VoxelClient] Batch (" + channel.key + ") Parse-Fehler: " + e.getMessage());
+            failRemaining(open);
+        }
+    }
+
+    /**
+     * Wie {@link #decodeSingle}, für die Kombi-Antwort
+     * {@code { "<uuid>": { "cosmetics": {...}, "badges": {...} }, ... }}.
+     */
+    static void decodeCombined(Map<Channel, List<UUID>> byChannel, InputStream body) {
+        Map<Channel, Set<UUID>> open = remaining(byChannel);
+        try (JsonReader reader = reader(body)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                UUID uuid = parseUuid(reader.nextName());
+                if (uuid == null || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    Channel channel = channelFor(open, reader.nextName(), uuid);
+                    if (channel == null) reader.skipValue();
+                    else deliver(channel, uuid, reader, open);
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+            missingAll(open);
+        } catch (Exception e) {
+            System.err.println("[VoxelClient] Kombi-Batch Parse-Fehler: " + e.getMessage());
+            failRemaining(open);
+        }
+    }
+
+    // ── Hilfsmethoden ─────────────────────────────────────────────────────────
+
+    /**
+     * Übergibt den aktuellen Wert an den Decoder. Wirft der Decoder, ist die Position im
+     * Stream unbestimmt → Exception weiterreichen, der Rest des Chunks gilt als fehlgeschlagen.
+     */
+    private static void deliver(Channel channel, UUID uuid, JsonReader reader,
+                                Map<Channel, Set<UUID>> open) throws IOException {
+        open.get(channel).remove(uuid);
+        try {
+            if (reader.peek() == JsonToken.STRING) {
+                // "not_modified" → ETag passt; andere Strings sind keine gültigen Einträge
+                if (NOT_MODIFIED.equals(reader.nextString())) channel.decoder.notModified(uuid);
+                else channel.decoder.missing(uuid);
+                return;
+            }
+            channel.decoder.read(uuid, reader);
+        } catch (IOException | RuntimeException e) {
+            channel.decoder.fail(uuid);
+            throw e;
+        }
+    }
+
+    private static Channel channelFor(Map<Channel, Set<UUID>> open, String key, UUID uuid) {
+        for (Map.Entry<Channel, Set<UUID>> e : open.entrySet()) {
+            if (e.getKey().key.equals(key) && e.getValue().contains(uuid)) return e.getKey();
+        }
+        return null;
+    }
+
+    private static Map<Channel, Set<UUID>> remaining(Map<Channel, List<UUID>> byChannel) {
+        Map<Channel, Set<UUID>> open = new LinkedHashMap<>();
+        byChannel.forEach((channel, list) -> open.put(channel, new HashSet<>(list)));
+        return open;
+    }
+
+    private static void missingAll(Map<Channel, Set<UUID>> open) {
+        open.forEach((channel, set) -> set.forEach(uuid -> {
+            try {
+                channel.decoder.missing(uuid);
+            } catch (Exception e) {
+                System.err.println("[VoxelClient] Batch (" + channel.key + ") Decoder-Fehler für " + uuid + ": " + e.getMessage());
+                channel.decoder.fail(uuid);
+            }
+        }));
+    }
+
+    private static void failRemaining(Map<Channel, Set<UUID>> open) {
+        open.forEach((channel, set) -> set.forEach(channel.decoder::fail));
+    }
+
+    private static void failAll(Map<Channel, List<UUID>> byChannel) {
+        byChannel.forEach((channel, list) -> list.forEach(channel.decoder::fail));
+    }
+
+    private static JsonReader reader(InputStream body) {
+        return new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static UUID parseUuid(String s) {
+        try {
+            return UUID.fromString(s);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            if (in != null) in.close();
+        } catch (IOException ignored) {}
+    }
+
+    /** Bekannte ETags der UUIDs eines Channels, oder null wenn keine. */
+    private static JsonObject etagsOf(Channel channel, Collection<UUID> uuids) {
+        if (channel.etagOf == null) return null;
+        JsonObject etags = null;
+        for (UUID uuid : uuids) {
+            String etag = channel.etagOf.apply(uuid);
+            if (etag == null) continue;
+            if (etags == null) etags = new JsonObject();
+            etags.addProperty(uuid.toString(), etag);
+        }
+        return etags;
+    }
+
+    private static JsonArray toJsonArray(Collection<UUID> uuids) {
+        JsonArray arr = new JsonArray();
+        uuids.forEach(u -> arr.add(u.toString()));
+        return arr;
+    }
+}
@@ -0,0 +1,227 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Größen- und altersbegrenzter Cache für Spielerdaten (UUID → Daten, Texturen, ...).
+ *
+ * Ersetzt die unbegrenzten {@code ConcurrentHashMap}s, die bei langen Sitzungen auf
+ * Netzwerken mit vielen wechselnden Spielern immer weiter gewachsen sind:
+ *
+ *   - Größe: bei mehr als {@code maxSize} Einträgen werden die am längsten nicht
+ *     gelesenen entfernt (LRU), in einem Durchgang bis auf 90 % der Kapazität
+ *   - Alter: Einträge ohne Zugriff seit {@code maxIdleMs} fliegen beim nächsten Sweep raus
+ *     ({@code Long.MAX_VALUE} = kein Alterslimit, z.B. für reine Status-Flags)
+ *   - Lebenszyklus: {@link #demote} (Spieler außer Sichtweite) macht einen Eintrag zum
+ *     ersten Kandidaten bei Platzmangel – das Alter zählt weiter ab dem letzten echten
+ *     Zugriff –, {@link #remove} (Spieler hat den Server verlassen) entfernt ihn sofort
+ *
+ * Lesen ist lock-frei (nur ein Zeitstempel wird aktualisiert) und damit auch
+ * pro Frame vom Render-Thread aus unkritisch.
+ */
+public final class BoundedCache<K, V> {
+
+    private static final long   SWEEP_INTERVAL_MS = 30_000L;
+    private static final double SHRINK_TO         = 0.9;
+
+    private static final List<BoundedCache<?, ?>> ALL = new CopyOnWriteArrayList<>();
+
+    /** Momentaufnahme für Debug-Ausgaben. */
+    public record Stats(String name, int size, int maxSize, long hits, long misses,
+                        long evictions, long estimatedBytes) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %d/%d Einträge, ~%d KB, Trefferquote %.1f%% (%d/%d), %d verdrängt",
+                    name, size, maxSize, estimatedBytes / 1024, hitRate() * 100, hits, hits + misses, evictions);
+        }
+    }
+
+    private static final class Node<V> {
+        final V value;
+        volatile long lastAccess;
+        volatile boolean demoted; // nur für shrink(), nicht für den Alters-Sweep
+        Node(V value, long now) { this.value = value; this.lastAccess = now; }
+    }
+
+    private final String name;
+    private final int    maxSize;
+    private final long   maxIdleMs;
+    private final long   bytesPerEntry;
+    private final Map<K, Node<V>> map = new ConcurrentHashMap<>();
+    private volatile BiConsumer<K, V> onRemoval = null;
+
+    private final LongAdder  hits      = new LongAdder();
+    private final LongAdder  misses    = new LongAdder();
+    private final LongAdder  evictions = new LongAdder();
+    private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * @param bytesPerEntry grobe Schätzung des Speicherbedarfs pro Eintrag (nur für Statistik)
+     */
+    public BoundedCache(String name, int maxSize, long maxIdleMs, long bytesPerEntry) {
+        this.name = name; this.maxSize = maxSize;
+        this.maxIdleMs = maxIdleMs; this.bytesPerEntry = bytesPerEntry;
+        ALL.add(this);
+    }
+
+    /** Wird für jeden verdrängten oder entfernten Eintrag aufgerufen (z.B. Textur freigeben). */
+    public BoundedCache<K, V> onRemoval(BiConsumer<K, V> listener) {
+        this.onRemoval = listener;
+        return this;
+    }
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    public V get(K key) {
+        Node<V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        node.lastAccess = System.currentTimeMillis();
+        node.demoted = false; // wieder in Benutzung (Spieler ist zurück)
+        return node.value;
+    }
+
+    /** Lesen ohne Statistik und ohne Zugriffszeit zu verändern (Hintergrund-Threads). */
+    public V peek(K key) {
+        Node<V> node = map.get(key);
+        return node != null ? node.value : null;
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    /** Ersetzen eines vorhandenen Werts gilt nicht als Entfernen (kein Removal-Listener). */
+    public void put(K key, V value) {
+        map.put(key, new Node<>(value, System.currentTimeMillis()));
+        maintain();
+    }
+
+    public V putIfAbsent(K key, V value) {
+        Node<V> old = map.putIfAbsent(key, new Node<>(value, System.currentTimeMillis()));
+        if (old != null) return old.value;
+        maintain();
+        return null;
+    }
+
+    public V remove(K key) {
+        Node<V> old = map.remove(key);
+        if (old == null) return null;
+        notifyRemoval(key, old.value);
+        return old.value;
+    }
+
+    /**
+     * Eintrag bleibt erhalten, wird aber bei Platzmangel zuerst entfernt. Die Zugriffszeit
+     * bleibt unverändert – der Alters-Sweep entfernt ihn also nicht früher als sonst.
+     */
+    public void demote(K key) {
+        Node<V> node = map.get(key);
+        if (node != null) node.demoted = true;
+    }
+
+    /** Wendet eine Funktion auf alle Werte an (z.B. "alles als veraltet markieren"). */
+    public void replaceAll(BiFunction<K, V, V> fn) {
+        map.replaceAll((k, node) -> {
+            Node<V> replaced = new Node<>(fn.apply(k, node.value), node.lastAccess);
+            replaced.demoted = node.demoted;
+            return replaced;
+        });
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    public Collection<V> values() {
+        List<V> out = new ArrayList<>(map.size());
+        map.values().forEach(n -> out.add(n.value));
+        return out;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        for (K key : new ArrayList<>(map.keySet())) remove(key);
+    }
+
+    public Stats stats() {
+        return new Stats(name, map.size(), maxSize, hits.sum(), misses.sum(),
+                evictions.sum(), (long) map.size() * bytesPerEntry);
+    }
+
+    /** Statistik aller Caches (für Debug-Ausgaben). */
+    public static List<Stats> allStats() {
+        List<Stats> out = new ArrayList<>(ALL.size());
+        for (BoundedCache<?, ?> cache : ALL) out.add(cache.stats());
+        return out;
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private void maintain() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        if (now - last > SWEEP_INTERVAL_MS && lastSweep.compareAndSet(last, now)) {
+            expireIdle(now);
+        }
+        if (map.size() > maxSize) shrink();
+    }
+
+    // Paket-sichtbar für Tests
+    void expireIdle(long now) {
+        map.forEach((key, node) -> {
+            if (now - node.lastAccess > maxIdleMs) evict(key, node);
+        });
+    }
+
+    private synchronized void shrink() {
+        int target = (int) (maxSize * SHRINK_TO);
+        if (map.size() <= maxSize) return;
+
+        // Zugriffszeiten einfrieren – sie ändern sich parallel durch get()
+        // Zurückgestufte Einträge zuerst, innerhalb beider Gruppen LRU
+        record Candidate<K, V>(K key, Node<V> node, boolean demoted, long lastAccess) {}
+        List<Candidate<K, V>> candidates = new ArrayList<>(map.size());
+        map.forEach((key, node) -> candidates.add(new Candidate<>(key, node, node.demoted, node.lastAccess)));
+        candidates.sort(Comparator.<Candidate<K, V>>comparingInt(c -> c.demoted() ? 0 : 1)
+                .thenComparingLong(Candidate::lastAccess));
+        for (Candidate<K, V> c : candidates) {
+            if (map.size() <= target) break;
+            evict(c.key, c.node);
+        }
+    }
+
+    private void evict(K key, Node<V> node) {
+        if (map.remove(key, node)) {
+            evictions.increment();
+            notifyRemoval(key, node.value);
+        }
+    }
+
+    private void notifyRemoval(K key, V value) {
+        BiConsumer<K, V> listener = onRemoval;
+        if (listener == null) return;
+        try {
+            listener.accept(key, value);
+        } catch (Exception e) {
+            System.err.println("[VoxelClient] Cache (" + name + ") Removal-Listener Fehler: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Persistenter, delta-aktualisierter Katalog (Cosmetics-Katalog, Badge-Katalog).
+ *
+ * Ablauf pro Session:
+ *   1. {@link #loadPersisted()} liest beim Start synchron den letzten Snapshot von
+ *      {@code .minecraft/voxelclient/cache/catalog/<name>.json} – ohne Netzwerk, der
+ *      Katalog steht also ab dem ersten Frame zur Verfügung.
+ *   2. Der erste {@link #fetch}/{@link #refresh()} schickt genau EINEN Request mit
+ *      {@code If-None-Match} (ETag) und {@code ?since=<version>}:
+ *        304 → nichts geändert, Snapshot bleibt
+ *        200 → {@link Codec#parse} bekommt Body + alten Snapshot; je nach Antwort
+ *              ist das ein vollständiger Katalog oder nur die Änderungen (Delta)
+ *   3. Der neue Snapshot wird per volatile-Referenz ausgetauscht und auf die Platte
+ *      geschrieben. Danach gibt es in dieser Session keine weiteren Katalog-Requests.
+ *
+ * Fehlschläge laufen über {@link CircuitBreaker} und {@link Backoff}; wartende
+ * Callbacks bleiben registriert, bis ein Katalog (von Platte oder Netz) vorliegt.
+ */
+public final class CatalogService<T> {
+
+    private static final long     RETRY_BASE_MS = 5_000L;
+    private static final long     RETRY_MAX_MS  = 5 * 60_000L;
+    private static final Duration TIMEOUT       = Duration.ofSeconds(10);
+
+    private static final Gson GSON = new Gson();
+
+    /** Übersetzt zwischen Katalog-Objekt und JSON. */
+    public interface Codec<T> {
+        /**
+         * Parst eine 200-Antwort oder den gespeicherten Body. {@code previous} ist der
+         * aktuelle Snapshot (oder null); enthält {@code body} nur ein Delta, wird es
+         * darauf angewendet. Das Ergebnis muss unveränderlich sein.
+         */
+        T parse(String body, T previous);
+
+        /** Vollständige JSON-Form für die Platte (parse(serialize(x), null) ≙ x). */
+        String serialize(T catalog);
+
+        /** Katalog-Version für {@code ?since=}, oder null wenn der Server keine liefert. */
+        String version(T catalog);
+
+        /** Anzahl Einträge, nur für Log-Ausgaben. */
+        int size(T catalog);
+    }
+
+    private final String         name;
+    private final String         url;
+    private final Codec<T>       codec;
+    private final CircuitBreaker breaker;
+
+    private volatile T      current;
+    private volatile String etag;
+    private volatile boolean loading;
+
+    // guarded by this
+    private boolean refreshed;      // Katalog in dieser Session schon abgeglichen
+    private int     retryAttempt;
+    private final List<Consumer<T>> callbacks = new ArrayList<>();
+
+    public CatalogService(String name, String url, Codec<T> codec, int breakerThreshold) {
+        this.name    = name;
+        this.url     = url;
+        this.codec   = codec;
+        this.breaker = new CircuitBreaker("catalog:" + name, breakerThreshold);
+    }
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Aktueller Snapshot oder null. Lock-frei, darf vom Render-Thread gelesen werden. */
+    public T get() {
+        return current;
+    }
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    public boolean isUnavailable() {
+        return breaker.isOpen();
+    }
+
+    /**
+     * Liest den gespeicherten Snapshot synchron ein (einmal beim Start, vor dem
+     * ersten Frame). Kein Netzwerk; ein fehlender oder kaputter Snapshot wird ignoriert.
+     */
+    public void loadPersisted() {
+        Path file = file();
+        if (!Files.exists(file)) return;
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonObject json = GSON.fromJson(reader, JsonObject.class);
+            if (json == null || !json.has("body")) return;
+            T catalog = codec.parse(json.get("body").getAsString(), null);
+            if (catalog == null) return;
+            synchronized (this) {
+                if (current != null) return; // Netz war schneller
+                etag    = json.has("etag") && !json.get("etag").isJsonNull()
+                        ? json.get("etag").getAsString() : null;
+                current = catalog;
+            }
+            System.out.println("[VoxelClient] Katalog (" + name + ") von Platte: "
+                    + codec.size(catalog) + " Einträge, Version " + codec.version(catalog));
+            fireCallbacks(catalog);
+        } catch (Exception e) {
+            System.err.println("[VoxelClient] Katalog (" + name + ") Snapshot unlesbar: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ruft den Callback mit dem Katalog auf – sofort, falls schon einer vorliegt,
+     * sonst sobald er geladen ist. Stößt den (einmaligen) Abgleich mit dem Server an.
+     */
+    public void fetch(Consumer<T> callback) {
+        T catalog;
+        synchronized (this) {
+            catalog = current;
+            if (catalog == null) callbacks.add(callback);
+        }
+        if (catalog != null) callback.accept(catalog);
+        refresh();
+    }
+
+    /** Gleicht den Katalog mit dem Server ab, höchstens einmal pro Session. */
+    public void refresh() {
+        synchronized (this) {
+            if (refreshed || loading) return;
+            // Circuit offen → der geplante Retry übernimmt
+            if (breaker.isOpen()) return;
+            loading = true;
+        }
+        fetchAsync();
+    }
+
+    /** Verwirft Snapshot und Validatoren; der nächste {@link #fetch} lädt komplett neu. */
+    public synchronized void invalidate() {
+        current      = null;
+        etag         = null;
+        refreshed    = false;
+        retryAttempt = 0;
+        callbacks.clear();
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private void fetchAsync() {
+        if (!breaker.allowRequest()) {
+            synchronized (this) { loading = false; }
+            return;
+        }
+        T base = current;
+        String version = base != null ? codec.version(base) : null;
+        String target = version != null
+                ? url + "?since=" + URLEncoder.encode(version, StandardCharsets.UTF_8)
+                : url;
+
+        HttpRequest.Builder builder = HttpGateway.request(target)
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET();
+        String knownEtag = etag;
+        if (base != null && knownEtag != null) builder.header("If-None-Match", knownEtag);
+
+        HttpGateway.send(builder.build(), HttpResponse.BodyHandlers.ofString()).handle((response, error) -> {
+            breaker.record(response, error);
+            if (error != null) {
+                System.err.println("[VoxelClient] Katalog (" + name + ") Fehler: " + error.getMessage());
+                return false;
+            }
+            int status = response.statusCode();
+            if (status == 304 && base != null) {
+                System.out.println("[VoxelClient] Katalog (" + name + ") unverändert (304)");
+                persist(base, knownEtag);
+                return true;
+            }
+            if (status != 200) {
+                System.err.println("[VoxelClient] Katalog (" + name + ") API " + status);
+                return false;
+            }
+            try {
+                T updated = codec.parse(response.body(), base);
+                if (updated == null) return false;
+                String newEtag = response.headers().firstValue("ETag").orElse(null);
+                synchronized (this) {
+                    current = updated;
+                    etag    = newEtag;
+                }
+                System.out.println("[VoxelClient] Katalog (" + name + ") aktualisiert: "
+                        + codec.size(updated) + " Einträge, Version " + codec.version(updated));
+                persist(updated, newEtag);
+                fireCallbacks(updated);
+                return true;
+            } catch (Exception e) {
+                System.err.println("[VoxelClient] Katalog (" + name + ") Parse-Fehler: " + e.getMessage());
+                return false;
+            }
+        }).thenAccept(ok -> {
+            synchronized (this) {
+                loading = false;
+                if (ok) {
+                    refreshed    = true;
+                    retryAttempt = 0;
+                    return;
+                }
+            }
+            scheduleRetry();
+        });
+    }
+
+    /** Nächster Versuch nach Backoff; mindestens so lange, wie der Circuit offen ist. */
+    private void scheduleRetry() {
+        long delay;
+        synchronized (this) {
+            delay = Math.max(Backoff.delayMs(++retryAttempt, RETRY_BASE_MS, RETRY_MAX_MS),
+                    breaker.retryInMs());
+        }
+        System.out.println("[VoxelClient] Katalog (" + name + "): neuer Versuch in " + (delay / 1000) + "s");
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            synchronized (this) {
+                if (refreshed || loading) return;
+                loading = true;
+            }
+            fetchAsync();
+        });
+    }
+
+    private void fireCallbacks(T catalog) {
+        List<Consumer<T>> cbs;
+        synchronized (this) {
+            if (callbacks.isEmpty()) return;
+            cbs = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        cbs.forEach(cb -> cb.accept(catalog));
+    }
+
+    private void persist(T catalog, String etag) {
+        JsonObject json = new JsonObject();
+        json.addProperty("body", codec.serialize(catalog));
+        if (etag != null) json.addProperty("etag", etag);
+        json.addProperty("stored_at", System.currentTimeMillis());
+        try {
+            Path target = file();
+            Files.createDirectories(target.getParent());
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                GSON.toJson(json, writer);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[VoxelClient] Katalog (" + name + ") Schreibfehler: " + e.getMessage());
+        }
+    }
+
+    private Path file() {
+        return FabricLoader.getInstance().getGameDir()
+                .resolve("voxelclient").resolve("cache").resolve("catalog").resolve(name + ".json");
+    }
+}
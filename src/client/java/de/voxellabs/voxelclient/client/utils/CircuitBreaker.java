@@ -0,0 +1,113 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.net.http.HttpResponse;
+
+/**
+ * Circuit Breaker pro Endpoint.
+ *
+ * Zustände:
+ *   CLOSED    – normaler Betrieb, aufeinanderfolgende Fehler werden gezählt
+ *   OPEN      – nach {@code threshold} Fehlern in Folge: keine Requests, Aufrufer bekommen
+ *               sofort "nicht verfügbar"; Dauer wächst exponentiell (mit Jitter)
+ *   HALF_OPEN – nach Ablauf darf genau ein Probe-Request durch; Erfolg schließt,
+ *               Fehler öffnet erneut mit längerer Wartezeit
+ *
+ * Als Fehler zählen Netzwerkfehler, Timeouts, HTTP 5xx und 429. Andere 4xx
+ * (z.B. 404 "Spieler unbekannt") sind eine gültige Antwort des Servers.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int  DEFAULT_THRESHOLD = 5;
+    private static final long BASE_OPEN_MS      = 5_000L;
+    private static final long MAX_OPEN_MS       = 5 * 60_000L;
+
+    private final String name;
+    private final int    threshold;
+
+    // Guarded by this
+    private State state    = State.CLOSED;
+    private int   failures = 0;
+    private int   opens    = 0;
+    private long  openUntil = 0L;
+    private boolean probeInFlight = false;
+
+    public CircuitBreaker(String name) {
+        this(name, DEFAULT_THRESHOLD);
+    }
+
+    public CircuitBreaker(String name, int threshold) {
+        this.name = name;
+        this.threshold = threshold;
+    }
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /**
+     * true wenn ein Request gesendet werden darf. Im HALF_OPEN-Zustand bekommt
+     * nur der erste Aufrufer ein true (Probe-Request), alle anderen ein false.
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() < openUntil) return false;
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default: // HALF_OPEN
+                if (probeInFlight) return false;
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /** Günstige Abfrage ohne Zustandswechsel (z.B. für UI oder Render-Thread). */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() < openUntil;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** Restliche Wartezeit bis zum nächsten Probe-Request (0 wenn nicht offen). */
+    public synchronized long retryInMs() {
+        return state == State.OPEN ? Math.max(0L, openUntil - System.currentTimeMillis()) : 0L;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            System.out.println("[VoxelClient] Circuit (" + name + ") wieder geschlossen");
+        }
+        state = State.CLOSED;
+        failures = 0;
+        opens = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        failures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= threshold)) {
+            opens++;
+            long wait = Backoff.delayMs(opens, BASE_OPEN_MS, MAX_OPEN_MS);
+            openUntil = System.currentTimeMillis() + wait;
+            state = State.OPEN;
+            System.err.println("[VoxelClient] Circuit (" + name + ") offen für " + (wait / 1000) + "s nach "
+                    + failures + " Fehlern");
+        }
+    }
+
+    /** Meldet das Ergebnis eines Requests anhand von Antwort bzw. Exception. */
+    public void record(HttpResponse<?> response, Throwable error) {
+        if (error != null || response == null || isFailureStatus(response.statusCode())) onFailure();
+        else onSuccess();
+    }
+
+    public static boolean isFailureStatus(int status) {
+        return status >= 500 || status == 429;
+    }
+}
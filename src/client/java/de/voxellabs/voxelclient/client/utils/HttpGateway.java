@@ -0,0 +1,155 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemeinsames HTTP-Gateway für den gesamten Backend-Traffic des Clients.
+ *
+ * Statt dass jeder API-Client einen eigenen {@link HttpClient} (und damit einen
+ * eigenen Connection-Pool, eigene TLS-Handshakes und einen eigenen Executor) hält,
+ * laufen alle Requests über diese Klasse:
+ *
+ *   - Ein einziger HTTP/2-fähiger Client mit Keep-Alive → Verbindungen werden wiederverwendet
+ *   - Virtual-Thread-Executor, begrenzt auf {@link #MAX_IN_FLIGHT} gleichzeitige Requests
+ *   - Pro Host höchstens {@link #MAX_PER_HOST} parallele Requests
+ *   - Deadline pro Request: Wartezeit auf einen freien Slot zählt mit zum Timeout
+ *
+ * Nutzung:
+ *   HttpRequest req = HttpGateway.request(url).GET().build();
+ *   HttpGateway.send(req, HttpResponse.BodyHandlers.ofString()).thenAccept(resp -> { ... });
+ */
+public final class HttpGateway {
+
+    public static final String   USER_AGENT       = "VoxelClient/1.0";
+    public static final Duration DEFAULT_TIMEOUT  = Duration.ofSeconds(8);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final int MAX_IN_FLIGHT = 24;
+    private static final int MAX_PER_HOST  = 6;
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("VoxelClient-Http-", 0).factory());
+
+    private static final Semaphore              IN_FLIGHT   = new Semaphore(MAX_IN_FLIGHT, true);
+    private static final Map<String, Semaphore> HOST_LIMITS = new ConcurrentHashMap<>();
+
+    // Keep-Alive: der JDK-Client hält Idle-Verbindungen im eigenen Pool offen
+    // (jdk.httpclient.keepalive.timeout) – solange es nur diese eine Instanz gibt,
+    // teilen sich alle Requests denselben Pool und dieselben TLS-Sessions.
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(EXECUTOR)
+            .build();
+
+    private HttpGateway() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Request-Builder mit User-Agent und Standard-Timeout (kann überschrieben werden). */
+    public static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(DEFAULT_TIMEOUT)
+                .header("User-Agent", USER_AGENT);
+    }
+
+    /**
+     * Sendet einen Request asynchron über den gemeinsamen Client.
+     *
+     * Die Deadline ist der Timeout des Requests (oder {@link #DEFAULT_TIMEOUT}) ab jetzt.
+     * Wer länger auf einen freien Slot wartet, bekommt eine {@link HttpTimeoutException}
+     * statt den Request verspätet abzuschicken.
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request,
+                                                           HttpResponse.BodyHandler<T> handler) {
+        long deadline = System.nanoTime() + request.timeout().orElse(DEFAULT_TIMEOUT).toNanos();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return sendWithinDeadline(request, handler, deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * WebSocket-Builder auf demselben Client (Pool, TLS, Executor). Langlebige
+     * Verbindungen zählen bewusst nicht gegen {@link #MAX_IN_FLIGHT}.
+     */
+    public static WebSocket.Builder webSocket() {
+        return HTTP.newWebSocketBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .header("User-Agent", USER_AGENT);
+    }
+
+    /** Anzahl gerade laufender Requests (für Debug-Ausgaben). */
+    public static int inFlight() {
+        return MAX_IN_FLIGHT - IN_FLIGHT.availablePermits();
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private static <T> HttpResponse<T> sendWithinDeadline(HttpRequest request,
+                                                          HttpResponse.BodyHandler<T> handler,
+                                                          long deadline)
+            throws IOException, InterruptedException {
+        Semaphore host = HOST_LIMITS.computeIfAbsent(hostOf(request.uri()),
+                h -> new Semaphore(MAX_PER_HOST, true));
+
+        acquire(IN_FLIGHT, deadline, request);
+        try {
+            acquire(host, deadline, request);
+            try {
+                return HTTP.send(withRemainingTimeout(request, deadline), handler);
+            } finally {
+                host.release();
+            }
+        } finally {
+            IN_FLIGHT.release();
+        }
+    }
+
+    private static void acquire(Semaphore semaphore, long deadline, HttpRequest request)
+            throws HttpTimeoutException, InterruptedException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0 || !semaphore.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            throw new HttpTimeoutException("Deadline überschritten (Warteschlange): " + request.uri());
+        }
+    }
+
+    private static HttpRequest withRemainingTimeout(HttpRequest request, long deadline)
+            throws HttpTimeoutException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new HttpTimeoutException("Deadline überschritten: " + request.uri());
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(Duration.ofNanos(remaining))
+                .build();
+    }
+
+    private static String hostOf(URI uri) {
+        String host = uri.getHost();
+        return host != null ? host.toLowerCase() : "";
+    }
+}
@@ -0,0 +1,58 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.util.UUID;
+
+/**
+ * Merkt sich UUIDs, für die gerade nichts geladen werden soll:
+ *
+ *   - "nicht vorhanden" (Server kennt den Spieler nicht) → kurze feste TTL
+ *   - "fehlgeschlagen" (Netzwerk, 5xx, Circuit offen) → exponentielles Backoff mit
+ *     Jitter pro UUID, jeder weitere Fehler verdoppelt die Wartezeit
+ *
+ * Solange ein Eintrag aktiv ist, überspringen die API-Clients den Request und
+ * antworten sofort mit "nicht verfügbar".
+ */
+public final class NegativeCache {
+
+    private static final long RETRY_BASE_MS = 2_000L;
+    private static final long RETRY_MAX_MS  = 5 * 60_000L;
+
+    private record Entry(long until, int attempts) {}
+
+    private final long missingTtlMs;
+    private final BoundedCache<UUID, Entry> entries;
+
+    public NegativeCache(String name, long missingTtlMs) {
+        this.missingTtlMs = missingTtlMs;
+        this.entries = new BoundedCache<>(name + "-negative", 2000, 15 * 60_000L, 64);
+    }
+
+    /** true solange für diese UUID kein neuer Request gestartet werden soll. */
+    public boolean isBlocked(UUID uuid) {
+        Entry e = entries.peek(uuid);
+        return e != null && System.currentTimeMillis() < e.until;
+    }
+
+    /** Server hat geantwortet, aber keine Daten für diese UUID. */
+    public void markMissing(UUID uuid) {
+        entries.put(uuid, new Entry(System.currentTimeMillis() + missingTtlMs, 0));
+    }
+
+    /** Request fehlgeschlagen. Gibt die Wartezeit bis zum nächsten Versuch zurück. */
+    public long markFailed(UUID uuid) {
+        Entry old = entries.peek(uuid);
+        int attempts = (old != null ? old.attempts : 0) + 1;
+        long delay = Backoff.delayMs(attempts, RETRY_BASE_MS, RETRY_MAX_MS);
+        entries.put(uuid, new Entry(System.currentTimeMillis() + delay, attempts));
+        return delay;
+    }
+
+    /** Erfolgreich geladen → Backoff zurücksetzen. */
+    public void clear(UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    public void clearAll() {
+        entries.clear();
+    }
+}
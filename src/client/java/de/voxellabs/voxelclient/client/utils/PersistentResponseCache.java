@@ -0,0 +1,252 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistenter Antwort-Cache pro Spieler-UUID unter {@code .minecraft/voxelclient/cache/<namespace>/}.
+ *
+ * Pro UUID wird eine kleine JSON-Datei abgelegt:
+ * {
+ *   "body": "{...rohe API-Antwort für diese UUID...}",
+ *   "etag": "\"abc123\"",
+ *   "last_modified": "Tue, 14 Oct 2026 10:00:00 GMT",
+ *   "stored_at": 1760436000000
+ * }
+ *
+ * Beim Start werden alle Einträge einmalig im Hintergrund eingelesen ({@link #loadAsync}).
+ * Im Speicher bleiben danach nur die Validatoren (begrenzt über einen {@link BoundedCache});
+ * der Body wird bei Bedarf von der Platte gelesen ({@link Entry#body()}). Ist ein Spieler
+ * aus dem Speicher gefallen, liest {@link #get} seine Datei erneut ein – die Platte bleibt
+ * die Quelle, der Speicher nur ein Index darauf. Veraltete Einträge
+ * werden per Conditional Request ({@code If-None-Match} / {@code If-Modified-Since})
+ * revalidiert – ein 304 kostet dann nur noch Header statt des kompletten Payloads.
+ */
+public final class PersistentResponseCache {
+
+    /** Einträge die länger nicht bestätigt wurden, werden beim Laden verworfen. */
+    private static final long MAX_AGE_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final Gson GSON = new Gson();
+
+    public static final class Entry {
+        public final String etag;
+        public final String lastModified;
+        public final long   storedAt;
+        private final Path   file;
+        private final String body; // nur direkt nach Lesen/Schreiben gesetzt, nie im Cache gehalten
+
+        Entry(Path file, String body, String etag, String lastModified, long storedAt) {
+            this.file = file; this.body = body; this.etag = etag;
+            this.lastModified = lastModified; this.storedAt = storedAt;
+        }
+
+        /** Rohe API-Antwort; liest von der Platte, falls nicht gerade erst geladen (null bei Fehler). */
+        public String body() {
+            if (body != null) return body;
+            Entry stored = read(file);
+            return stored != null ? stored.body : null;
+        }
+
+        Entry withoutBody() {
+            return body == null ? this : new Entry(file, null, etag, lastModified, storedAt);
+        }
+
+        /** true wenn der Server einen Validator geliefert hat → Conditional Request möglich. */
+        public boolean hasValidator() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    private final String namespace;
+    // Nur Validatoren + Dateipfad (~200 Byte); was rausfällt, liest get() von der Platte nach
+    private final BoundedCache<UUID, Entry> entries;
+    private volatile Path dir;
+
+    public PersistentResponseCache(String namespace) {
+        this.namespace = namespace;
+        this.entries = new BoundedCache<>("disk-" + namespace, 4000, 60 * 60 * 1000L, 200);
+    }
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /**
+     * Liest alle gespeicherten Einträge im Hintergrund ein und reicht jeden gültigen
+     * Eintrag an {@code consumer} weiter (z.B. um den In-Memory-Cache vorzuwärmen).
+     */
+    public void loadAsync(BiConsumer<UUID, Entry> consumer) {
+        Thread.ofVirtual().name("VoxelClient-DiskCache-" + namespace).start(() -> {
+            int loaded = 0;
+            long now = System.currentTimeMillis();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir(), "*.json")) {
+                for (Path file : files) {
+                    UUID uuid = uuidOf(file);
+                    if (uuid == null) continue;
+                    Entry entry = read(file);
+                    if (entry == null || now - entry.storedAt > MAX_AGE_MS) {
+                        Files.deleteIfExists(file);
+                        continue;
+                    }
+                    entries.put(uuid, entry.withoutBody());
+                    consumer.accept(uuid, entry);
+                    loaded++;
+                }
+            } catch (IOException e) {
+                System.err.println("[VoxelClient] Disk-Cache (" + namespace + ") nicht lesbar: " + e.getMessage());
+            }
+            System.out.println("[VoxelClient] Disk-Cache (" + namespace + "): " + loaded + " Einträge geladen");
+        });
+    }
+
+    /** Gespeicherter Eintrag oder null; nicht im Speicher → Datei lesen und wieder aufnehmen. */
+    public Entry get(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry != null ? entry : load(uuid);
+    }
+
+    /** Speichert eine frische Antwort (200) inkl. Validatoren aus den Response-Headern. */
+    public void put(UUID uuid, String body, HttpHeaders headers) {
+        put(uuid, body,
+                headers != null ? headers.firstValue("ETag").orElse(null) : null,
+                headers != null ? headers.firstValue("Last-Modified").orElse(null) : null);
+    }
+
+    public void put(UUID uuid, String body, String etag, String lastModified) {
+        if (body == null) return;
+        Path file;
+        try {
+            file = fileOf(uuid);
+        } catch (IOException e) {
+            System.err.println("[VoxelClient] Disk-Cache (" + namespace + ") Schreibfehler: " + e.getMessage());
+            return;
+        }
+        Entry entry = new Entry(file, body, etag, lastModified, System.currentTimeMillis());
+        if (write(entry)) entries.put(uuid, entry.withoutBody());
+    }
+
+    /** Nach einem 304: Eintrag bleibt gleich, nur der Zeitstempel wird erneuert. */
+    public Entry touch(UUID uuid) {
+        Entry old = get(uuid);
+        if (old == null) return null;
+        String body = old.body();
+        if (body == null) {
+            remove(uuid);
+            return null;
+        }
+        Entry entry = new Entry(old.file, body, old.etag, old.lastModified, System.currentTimeMillis());
+        if (write(entry)) entries.put(uuid, entry.withoutBody());
+        return entry;
+    }
+
+    public void remove(UUID uuid) {
+        entries.remove(uuid);
+        try {
+            Files.deleteIfExists(fileOf(uuid));
+        } catch (IOException ignored) {}
+    }
+
+    /** Setzt {@code If-None-Match} / {@code If-Modified-Since} falls Validatoren vorhanden sind. */
+    public static HttpRequest.Builder applyValidators(HttpRequest.Builder builder, Entry entry) {
+        if (entry == null) return builder;
+        if (entry.etag != null)         builder.header("If-None-Match", entry.etag);
+        if (entry.lastModified != null) builder.header("If-Modified-Since", entry.lastModified);
+        return builder;
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private Path dir() throws IOException {
+        Path d = dir;
+        if (d == null) {
+            d = FabricLoader.getInstance().getGameDir()
+                    .resolve("voxelclient").resolve("cache").resolve(namespace);
+            dir = d;
+        }
+        Files.createDirectories(d);
+        return d;
+    }
+
+    private Entry load(UUID uuid) {
+        Path file;
+        try {
+            file = fileOf(uuid);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!Files.isRegularFile(file)) return null;
+        Entry stored = read(file);
+        if (stored == null || System.currentTimeMillis() - stored.storedAt > MAX_AGE_MS) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {}
+            return null;
+        }
+        entries.put(uuid, stored.withoutBody());
+        return stored;
+    }
+
+    private Path fileOf(UUID uuid) throws IOException {
+        return dir().resolve(uuid + ".json");
+    }
+
+    private static UUID uuidOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return UUID.fromString(name.substring(0, name.length() - ".json".length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Entry read(Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonObject json = GSON.fromJson(reader, JsonObject.class);
+            if (json == null || !json.has("body")) return null;
+            return new Entry(
+                    file,
+                    json.get("body").getAsString(),
+                    str(json, "etag"),
+                    str(json, "last_modified"),
+                    json.has("stored_at") ? json.get("stored_at").getAsLong() : 0L);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean write(Entry entry) {
+        JsonObject json = new JsonObject();
+        json.addProperty("body", entry.body);
+        if (entry.etag != null)         json.addProperty("etag", entry.etag);
+        if (entry.lastModified != null) json.addProperty("last_modified", entry.lastModified);
+        json.addProperty("stored_at", entry.storedAt);
+        try {
+            Path target = entry.file;
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                GSON.toJson(json, writer);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("[VoxelClient] Disk-Cache (" + namespace + ") Schreibfehler: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static String str(JsonObject json, String key) {
+        return (json.has(key) && !json.get(key).isJsonNull()) ? json.get(key).getAsString() : null;
+    }
+}
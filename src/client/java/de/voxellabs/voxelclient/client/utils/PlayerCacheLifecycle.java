@@ -0,0 +1,64 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import de.voxellabs.voxelclient.client.badge.BadgeApiClient;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiClient;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsManager;
+import de.voxellabs.voxelclient.client.cosmetics.renderer.TrailEmitter;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.AbstractClientPlayerEntity;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Hält die Spieler-Caches am Lebenszyklus der Spieler fest.
+ *
+ *   - Spieler verlässt die Sichtweite (ENTITY_UNLOAD) → Einträge bleiben, werden aber
+ *     bei Platzmangel zuerst verdrängt (er kommt oft gleich wieder)
+ *   - Spieler verschwindet aus der Tab-Liste (Server verlassen) → Einträge sofort entfernen
+ *   - Disconnect → Cache-Statistik ins Log
+ */
+public final class PlayerCacheLifecycle {
+
+    private PlayerCacheLifecycle() {}
+
+    /** Aufruf in VoxelClientClient.onInitializeClient() */
+    public static void init() {
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof AbstractClientPlayerEntity player && !isOwn(player.getUuid())) {
+                UUID uuid = player.getUuid();
+                CosmeticsApiClient.demote(uuid);
+                BadgeApiClient.demote(uuid);
+                CosmeticsManager.demote(uuid);
+            }
+        });
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> logStats());
+    }
+
+    /** Spieler wurden aus der Tab-Liste entfernt (PlayerRemoveS2CPacket). */
+    public static void onPlayersRemoved(Collection<UUID> uuids) {
+        for (UUID uuid : uuids) {
+            if (isOwn(uuid)) continue;
+            CosmeticsApiClient.invalidate(uuid);
+            BadgeApiClient.invalidate(uuid);
+            CosmeticsManager.evict(uuid);
+            VoxelClientNetwork.removeVoxelUser(uuid);
+        }
+    }
+
+    public static void logStats() {
+        for (BoundedCache.Stats stats : BoundedCache.allStats()) {
+            System.out.println("[VoxelClient] Cache " + stats);
+        }
+        System.out.println("[VoxelClient] " + TextureRegistry.stats());
+        System.out.println("[VoxelClient] " + TrailEmitter.stats());
+    }
+
+    private static boolean isOwn(UUID uuid) {
+        MinecraftClient mc = MinecraftClient.getInstance();
+        return mc.player != null && mc.player.getUuid().equals(uuid);
+    }
+}
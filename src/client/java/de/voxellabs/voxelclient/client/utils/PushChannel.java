@@ -0,0 +1,290 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Optionale Push-Verbindung zum VoxelLabs-Backend (WebSocket) für Cosmetic-/Badge-Änderungen.
+ *
+ * Solange die Verbindung steht, meldet der Server Änderungen an abonnierten Spielern
+ * selbst – der TTL-Refresh im {@link RefreshScheduler} wird dann für diese Spieler
+ * nur noch verschoben statt ausgeführt ({@link #covers}). Bricht die Verbindung ab,
+ * werden alle geplanten Refreshes mit Jitter vorgezogen (es könnten Events fehlen)
+ * und Batching/TTL-Polling übernehmen wieder, bis der Reconnect (mit Backoff) klappt.
+ *
+ * Protokoll (JSON-Textframes):
+ *   Client → Server:
+ *     { "op": "subscribe",   "uuids": ["...", ...] }
+ *     { "op": "unsubscribe", "uuids": ["...", ...] }
+ *   Server → Client:
+ *     { "type": "invalidate", "domain": "cosmetics", "uuid": "..." }
+ *     { "type": "update",     "domain": "badges",    "uuid": "...", "data": { ... } }
+ *
+ * {@code data} hat dieselbe Form wie der Eintrag einer Batch-Antwort und wird vom
+ * {@link BatchPipeline.Decoder} der jeweiligen Domain gelesen.
+ *
+ * Ein-/Ausschalter: {@link VoxelClientConfig#cosmeticsLiveUpdates} (standardmäßig aus,
+ * solange das Backend den Endpoint nicht überall anbietet – TTL-Polling bleibt der Normalfall).
+ */
+public final class PushChannel {
+
+    private static final URI  PUSH_URI         = URI.create("wss://api.voxellabs.de/api/push");
+    private static final long RECONNECT_BASE_MS = 2_000L;
+    private static final long RECONNECT_MAX_MS  = 5 * 60_000L;
+    private static final long SUBSCRIBE_DELAY_MS = 250L;     // Abos kurz sammeln
+    private static final long RESYNC_SPREAD_MS   = 30_000L;  // Refreshes nach Abbruch verteilen
+
+    /** Eine Datenart (z.B. "cosmetics"), die per Push aktualisiert werden kann. */
+    private record Domain(RefreshScheduler.Domain refresh, BatchPipeline.Decoder decoder,
+                          Consumer<UUID> invalidator) {}
+
+    private static final Map<String, Domain> DOMAINS = new ConcurrentHashMap<>();
+    private static final Set<UUID>           TRACKED = ConcurrentHashMap.newKeySet();
+
+    // guarded by PushChannel.class
+    private static WebSocket                  socket;
+    private static CompletableFuture<?>       sendChain = CompletableFuture.completedFuture(null);
+    private static final Set<UUID>            PENDING_SUB   = ConcurrentHashMap.newKeySet();
+    private static final Set<UUID>            PENDING_UNSUB = ConcurrentHashMap.newKeySet();
+    private static boolean                    flushScheduled;
+    private static URI                        target = PUSH_URI;
+    private static boolean                    wanted;        // zwischen JOIN und DISCONNECT
+    private static int                        attempt;
+    private static int                        generation;    // verwirft Callbacks alter Verbindungen
+
+    private static volatile boolean connected = false;
+
+    private PushChannel() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /**
+     * Meldet eine Domain an (Name = Schlüssel des Batch-Channels). "update"-Events
+     * liest der Decoder des Channels, "invalidate"-Events gehen an {@code invalidator}.
+     * Refreshes der Domain werden verschoben, solange Push den Spieler abdeckt, und
+     * bei Verbindungsabbruch vorgezogen.
+     */
+    public static void register(BatchPipeline.Channel channel, RefreshScheduler.Domain refresh,
+                                Consumer<UUID> invalidator) {
+        refresh.pushCovered = true;
+        DOMAINS.put(channel.key, new Domain(refresh, channel.decoder, invalidator));
+    }
+
+    /** true wenn Änderungen an diesem Spieler gerade per Push ankommen (Polling unnötig). */
+    public static boolean covers(UUID uuid) {
+        return connected && TRACKED.contains(uuid);
+    }
+
+    public static boolean isConnected() {
+        return connected;
+    }
+
+    public static void track(UUID uuid) {
+        if (!TRACKED.add(uuid)) return;
+        PENDING_UNSUB.remove(uuid);
+        PENDING_SUB.add(uuid);
+        scheduleFlush();
+    }
+
+    public static void untrack(UUID uuid) {
+        if (!TRACKED.remove(uuid)) return;
+        PENDING_SUB.remove(uuid);
+        PENDING_UNSUB.add(uuid);
+        scheduleFlush();
+    }
+
+    /** Server-Join: Verbindung aufbauen (falls in der Config aktiviert). */
+    public static synchronized void start() {
+        if (!VoxelClientConfig.get().cosmeticsLiveUpdates) return;
+        start(PUSH_URI);
+    }
+
+    /** Verbindung zu {@code uri} aufbauen, ohne Config-Prüfung (Tests: lokaler Push-Server). */
+    static synchronized void start(URI uri) {
+        if (wanted) return;
+        wanted  = true;
+        target  = uri;
+        attempt = 0;
+        connect();
+    }
+
+    /** Disconnect: Verbindung schließen, Abos vergessen. */
+    public static synchronized void stop() {
+        wanted = false;
+        generation++;
+        TRACKED.clear();
+        PENDING_SUB.clear();
+        PENDING_UNSUB.clear();
+        connected = false;
+        if (socket != null) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "disconnect");
+            socket = null;
+        }
+    }
+
+    // ── Verbindung ────────────────────────────────────────────────────────────
+
+    // Aufruf nur mit Lock auf PushChannel.class
+    private static void connect() {
+        int gen = ++generation;
+        HttpGateway.webSocket()
+                .buildAsync(target, new Listener(gen))
+                .whenComplete((ws, error) -> {
+                    synchronized (PushChannel.class) {
+                        if (gen != generation) {
+                            if (ws != null) ws.abort();
+                            return;
+                        }
+                        if (error != null) {
+                            System.err.println("[VoxelClient] Push-Verbindung fehlgeschlagen: " + error.getMessage());
+                            scheduleReconnect();
+                            return;
+                        }
+                        socket    = ws;
+                        sendChain = CompletableFuture.completedFuture(null);
+                        attempt   = 0;
+                        connected = true;
+                        System.out.println("[VoxelClient] Push-Verbindung steht, " + TRACKED.size() + " Spieler abonniert");
+                        // Nach (Re-)Connect den kompletten Stand abonnieren
+                        PENDING_UNSUB.clear();
+                        PENDING_SUB.clear();
+                        send("subscribe", new ArrayList<>(TRACKED));
+                    }
+                });
+    }
+
+    // Aufruf nur mit Lock auf PushChannel.class
+    private static void scheduleReconnect() {
+        if (!wanted) return;
+        long delay = Backoff.delayMs(++attempt, RECONNECT_BASE_MS, RECONNECT_MAX_MS);
+        int gen = generation;
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            synchronized (PushChannel.class) {
+                if (wanted && gen == generation) connect();
+            }
+        });
+    }
+
+    private static void onClosed(int gen, String reason) {
+        boolean wasConnected;
+        synchronized (PushChannel.class) {
+            if (gen != generation) return;
+            wasConnected = connected;
+            connected = false;
+            socket    = null;
+            System.err.println("[VoxelClient] Push-Verbindung getrennt: " + reason);
+            scheduleReconnect();
+        }
+        // Während der Unterbrechung könnten Events verloren gegangen sein
+        if (wasConnected) DOMAINS.values().forEach(d -> RefreshScheduler.rescheduleAll(d.refresh, RESYNC_SPREAD_MS));
+    }
+
+    // ── Abos ──────────────────────────────────────────────────────────────────
+
+    private static synchronized void scheduleFlush() {
+        if (flushScheduled || socket == null) return;
+        flushScheduled = true;
+        CompletableFuture.delayedExecutor(SUBSCRIBE_DELAY_MS, TimeUnit.MILLISECONDS).execute(() -> {
+            synchronized (PushChannel.class) {
+                flushScheduled = false;
+                if (socket == null) return; // Reconnect abonniert ohnehin alles neu
+                List<UUID> sub   = drain(PENDING_SUB);
+                List<UUID> unsub = drain(PENDING_UNSUB);
+                if (!sub.isEmpty())   send("subscribe", sub);
+                if (!unsub.isEmpty()) send("unsubscribe", unsub);
+            }
+        });
+    }
+
+    private static List<UUID> drain(Set<UUID> set) {
+        List<UUID> out = new ArrayList<>(set);
+        set.removeAll(out);
+        return out;
+    }
+
+    // Aufruf nur mit Lock auf PushChannel.class; Frames werden nacheinander gesendet
+    private static void send(String op, List<UUID> uuids) {
+        if (uuids.isEmpty() || socket == null) return;
+        JsonObject msg = new JsonObject();
+        msg.addProperty("op", op);
+        JsonArray arr = new JsonArray();
+        uuids.forEach(u -> arr.add(u.toString()));
+        msg.add("uuids", arr);
+        WebSocket ws = socket;
+        String text = msg.toString();
+        sendChain = sendChain.handle((v, e) -> null).thenCompose(v -> ws.sendText(text, true));
+    }
+
+    // ── Empfang ───────────────────────────────────────────────────────────────
+
+    private static void dispatch(String text) {
+        try {
+            JsonObject msg = JsonParser.parseString(text).getAsJsonObject();
+            Domain domain = DOMAINS.get(msg.get("domain").getAsString());
+            UUID uuid = UUID.fromString(msg.get("uuid").getAsString());
+            if (domain == null || !TRACKED.contains(uuid)) return;
+
+            switch (msg.get("type").getAsString()) {
+                case "invalidate" -> domain.invalidator.accept(uuid);
+                case "update" -> {
+                    JsonElement data = msg.get("data");
+                    JsonReader reader = new JsonReader(new StringReader(data == null ? "null" : data.toString()));
+                    domain.decoder.read(uuid, reader);
+                }
+                default -> { /* unbekannter Typ → ignorieren (ältere Client-Version) */ }
+            }
+        } catch (Exception e) {
+            System.err.println("[VoxelClient] Push-Nachricht fehlerhaft: " + e.getMessage());
+        }
+    }
+
+    private static final class Listener implements WebSocket.Listener {
+        private final int gen;
+        private final StringBuilder buffer = new StringBuilder();
+
+        Listener(int gen) {
+            this.gen = gen;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                dispatch(text);
+            }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            onClosed(gen, statusCode + " " + reason);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            onClosed(gen, String.valueOf(error.getMessage()));
+        }
+    }
+}
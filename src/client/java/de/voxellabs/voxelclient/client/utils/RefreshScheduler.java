@@ -0,0 +1,143 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Hintergrund-Refresh für gecachte Spielerdaten (Stale-While-Revalidate).
+ *
+ * Statt dass jeder Render-Zugriff das Alter eines Eintrags prüft und bei Ablauf einen
+ * Request anstößt, plant jeder API-Client nach dem Speichern einen Refresh ein:
+ *
+ *   - Zeitpunkt: zufällig zwischen 75 % und 90 % der TTL (Jitter) → Spieler, die
+ *     gemeinsam gejoint sind, laufen nicht alle gleichzeitig ab
+ *   - Takt: höchstens {@link #MAX_PER_TICK} Refreshes pro Sekunde über alle Domains,
+ *     der Rest rutscht in die nächsten Takte → kein Request-Burst
+ *   - Bis der Refresh da ist, werden die alten Daten weiter angezeigt
+ *   - Fehlgeschlagene Refreshes werden nach der Backoff-Zeit des Clients erneut versucht
+ *
+ * Render-Zugriffe sind damit reine Map-Lookups ohne Netzwerk-Logik.
+ *
+ * Domains, die beim {@link PushChannel} angemeldet sind, überspringen den Refresh für
+ * Spieler, deren Änderungen gerade per Push ankommen – der Termin wird nur verschoben.
+ */
+public final class RefreshScheduler {
+
+    private static final double REFRESH_AT_MIN = 0.75;   // Anteil der TTL
+    private static final double REFRESH_AT_MAX = 0.90;
+    private static final long   TICK_MS        = 1000L;
+    private static final int    MAX_PER_TICK   = 5;
+
+    /** Ein Datentyp mit eigener TTL, Refresh-Aktion und Filter (z.B. "Spieler noch relevant"). */
+    public static final class Domain {
+        final String          name;
+        final long            ttlMs;
+        final Consumer<UUID>  refresher;
+        final Predicate<UUID> wanted;
+        // uuid → aktuell geplanter Zeitpunkt; ältere Queue-Einträge werden übersprungen
+        final Map<UUID, Long> due = new ConcurrentHashMap<>();
+        // gesetzt von PushChannel.register
+        volatile boolean pushCovered;
+
+        public Domain(String name, long ttlMs, Consumer<UUID> refresher, Predicate<UUID> wanted) {
+            this.name = name; this.ttlMs = ttlMs;
+            this.refresher = refresher; this.wanted = wanted;
+        }
+    }
+
+    private record Task(Domain domain, UUID uuid, long dueAt) {}
+
+    // Guarded by synchronized(QUEUE)
+    private static final PriorityQueue<Task> QUEUE =
+            new PriorityQueue<>(Comparator.comparingLong(Task::dueAt));
+
+    private static final ScheduledExecutorService TICKER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "VoxelClient-Refresh");
+                t.setDaemon(true);
+                return t;
+            });
+
+    static {
+        TICKER.scheduleWithFixedDelay(RefreshScheduler::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private RefreshScheduler() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Plant den nächsten Refresh für einen gerade (zum Zeitpunkt {@code fetchedAt}) geladenen Eintrag. */
+    public static void schedule(Domain domain, UUID uuid, long fetchedAt) {
+        double fraction = REFRESH_AT_MIN
+                + ThreadLocalRandom.current().nextDouble() * (REFRESH_AT_MAX - REFRESH_AT_MIN);
+        put(domain, uuid, fetchedAt + (long) (domain.ttlMs * fraction));
+    }
+
+    /** Refresh fehlgeschlagen → nach {@code delayMs} (Backoff, siehe {@link NegativeCache}) erneut versuchen. */
+    public static void retry(Domain domain, UUID uuid, long delayMs) {
+        put(domain, uuid, System.currentTimeMillis() + delayMs);
+    }
+
+    /** Zieht alle geplanten Refreshes einer Domain vor, verteilt über {@code spreadMs}. */
+    public static void rescheduleAll(Domain domain, long spreadMs) {
+        long now = System.currentTimeMillis();
+        for (UUID uuid : List.copyOf(domain.due.keySet())) {
+            put(domain, uuid, now + ThreadLocalRandom.current().nextLong(Math.max(1, spreadMs)));
+        }
+    }
+
+    public static void cancel(Domain domain, UUID uuid) {
+        domain.due.remove(uuid);
+    }
+
+    public static void cancelAll(Domain domain) {
+        domain.due.clear();
+    }
+
+    /** Anzahl geplanter Refreshes einer Domain (für Debug-Ausgaben). */
+    public static int scheduled(Domain domain) {
+        return domain.due.size();
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private static void put(Domain domain, UUID uuid, long dueAt) {
+        domain.due.put(uuid, dueAt);
+        synchronized (QUEUE) {
+            QUEUE.add(new Task(domain, uuid, dueAt));
+        }
+    }
+
+    private static void tick() {
+        long now = System.currentTimeMillis();
+        List<Task> run = new ArrayList<>(MAX_PER_TICK);
+
+        synchronized (QUEUE) {
+            while (run.size() < MAX_PER_TICK) {
+                Task task = QUEUE.peek();
+                if (task == null || task.dueAt > now) break;
+                QUEUE.poll();
+                // Neu geplant oder abgebrochen → veralteter Queue-Eintrag
+                if (!task.domain.due.remove(task.uuid, task.dueAt)) continue;
+                run.add(task);
+            }
+        }
+
+        for (Task task : run) {
+            try {
+                if (!task.domain.wanted.test(task.uuid)) continue;
+                // Änderungen kommen per Push → nur neu terminieren, kein Request
+                if (task.domain.pushCovered && PushChannel.covers(task.uuid)) {
+                    schedule(task.domain, task.uuid, now);
+                    continue;
+                }
+                task.domain.refresher.accept(task.uuid);
+            } catch (Exception e) {
+                System.err.println("[VoxelClient] Refresh (" + task.domain.name + ") Fehler für "
+                        + task.uuid + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inhaltsadressierter Disk-Cache für CDN-Texturen unter {@code .minecraft/voxelclient/cache/textures/}.
+ *
+ * Aufbau:
+ *   - {@code <sha256>.bin}: die rohen PNG-Bytes, benannt nach ihrem SHA-256 – gleiche Inhalte
+ *     unter verschiedenen URLs liegen nur einmal auf der Platte
+ *   - {@code index.json}: URL → { sha, etag, last_modified, size, last_access, validated_at }
+ *
+ * Ablauf von {@link #fetch}:
+ *   Treffer → Datei per Memory-Mapping lesen (einmal pro Session gegen den SHA-256 geprüft)
+ *             und sofort zurückgeben, ohne Netzwerk. Ist die letzte Bestätigung älter als
+ *             {@link #REVALIDATE_AFTER_MS}, folgt im Hintergrund ein Conditional GET
+ *             (If-None-Match / If-Modified-Since); neue Inhalte gelten ab dem nächsten Laden.
+ *   Kein Treffer → Download, Bytes ablegen, Index aktualisieren.
+ *
+ * Downloads sind auf {@link TexturePipeline#MAX_ENCODED_BYTES} begrenzt (Content-Length und
+ * gezählte Bytes); abgelegt wird erst, wenn {@link TexturePipeline#checkHeader} die Datei
+ * akzeptiert – zu große Bilder landen weder im Heap noch auf der Platte.
+ *
+ * Der Cache ist auf {@link #MAX_BYTES} begrenzt; darüber werden die am längsten nicht
+ * genutzten Dateien gelöscht. Alle Index-Zugriffe und Datei-Operationen laufen auf einem
+ * eigenen I/O-Thread.
+ */
+public final class TextureDiskCache {
+
+    private static final long     MAX_BYTES           = 64L * 1024 * 1024;
+    private static final long     REVALIDATE_AFTER_MS = 24L * 60 * 60 * 1000;
+    private static final long     INDEX_WRITE_DELAY_MS = 2_000L;
+    private static final Duration TIMEOUT             = Duration.ofSeconds(10);
+
+    private static final Gson GSON = new Gson();
+
+    private record Entry(String sha, String etag, String lastModified, long size,
+                         long lastAccess, long validatedAt) {
+        Entry accessed(long now)  { return new Entry(sha, etag, lastModified, size, now, validatedAt); }
+        Entry validated(long now) { return new Entry(sha, etag, lastModified, size, lastAccess, now); }
+    }
+
+    private static final ScheduledExecutorService IO = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "VoxelClient-TexCache");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Nur auf dem IO-Thread benutzt
+    private static final Map<String, Entry> INDEX    = new HashMap<>();
+    private static final Set<String>        VERIFIED = new HashSet<>();
+    // Laufende Ladevorgänge pro URL (Single-Flight, thread-safe)
+    private static final Map<String, CompletableFuture<ByteBuffer>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private static boolean indexLoaded = false;
+    private static boolean indexDirty  = false;
+    private static Path    dir;
+
+    private TextureDiskCache() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /**
+     * Liefert die Bytes einer Textur-URL – aus dem Cache (Memory-Mapped, direkter Buffer)
+     * oder frisch vom CDN (Heap-Buffer). Das Future schlägt fehl, wenn beides nicht klappt.
+     * Gleichzeitige Anfragen für dieselbe URL teilen sich einen Lese-/Download-Vorgang;
+     * jeder Aufrufer bekommt eine eigene Sicht ({@link ByteBuffer#duplicate()}) auf die Bytes.
+     */
+    public static CompletableFuture<ByteBuffer> fetch(String url) {
+        CompletableFuture<ByteBuffer> shared = IN_FLIGHT.computeIfAbsent(url, u -> {
+            CompletableFuture<ByteBuffer> f = load(u);
+            f.whenComplete((data, error) -> IN_FLIGHT.remove(u, f));
+            return f;
+        });
+        return shared.thenApply(ByteBuffer::duplicate);
+    }
+
+    private static CompletableFuture<ByteBuffer> load(String url) {
+        return CompletableFuture.supplyAsync(() -> readCached(url), IO).thenCompose(hit -> {
+            if (hit != null) {
+                if (System.currentTimeMillis() - hit.entry.validatedAt > REVALIDATE_AFTER_MS) {
+                    download(url, hit.entry); // Hintergrund, Ergebnis erst beim nächsten Laden
+                }
+                return CompletableFuture.completedFuture(hit.data);
+            }
+            return download(url, null).thenApply(bytes -> {
+                if (bytes == null) throw new IllegalStateException("Keine Daten für " + url);
+                return ByteBuffer.wrap(bytes);
+            });
+        });
+    }
+
+    // ── Netzwerk ──────────────────────────────────────────────────────────────
+
+    /** Lädt die URL (conditional, falls {@code known}); liefert neue Bytes oder null bei 304. */
+    private static CompletableFuture<byte[]> download(String url, Entry known) {
+        HttpRequest.Builder builder = HttpGateway.request(url).timeout(TIMEOUT).GET();
+        if (known != null) {
+            if (known.etag != null)         builder.header("If-None-Match", known.etag);
+            if (known.lastModified != null) builder.header("If-Modified-Since", known.lastModified);
+        }
+        return HttpGateway.send(builder.build(), limitedBody(TexturePipeline.MAX_ENCODED_BYTES)).thenApply(resp -> {
+            if (resp.statusCode() == 304 && known != null) {
+                IO.execute(() -> {
+                    Entry e = INDEX.get(url);
+                    if (e != null) { INDEX.put(url, e.validated(System.currentTimeMillis())); markDirty(); }
+                });
+                return null;
+            }
+            if (resp.statusCode() != 200) throw new IllegalStateException("HTTP " + resp.statusCode());
+            byte[] body = resp.body();
+            TexturePipeline.checkHeader(ByteBuffer.wrap(body)); // abgelehnt → nichts ablegen
+            String etag = resp.headers().firstValue("ETag").orElse(null);
+            String lastModified = resp.headers().firstValue("Last-Modified").orElse(null);
+            IO.execute(() -> store(url, body, etag, lastModified));
+            return body;
+        });
+    }
+
+    /** Wie {@code ofByteArray}, bricht aber ab sobald mehr als {@code maxBytes} angekündigt oder empfangen werden. */
+    private static HttpResponse.BodyHandler<byte[]> limitedBody(int maxBytes) {
+        return info -> {
+            long declared = info.headers().firstValueAsLong("Content-Length").orElse(-1L);
+            return new LimitedBody(maxBytes, declared > maxBytes);
+        };
+    }
+
+    private static final class LimitedBody implements HttpResponse.BodySubscriber<byte[]> {
+        private final int maxBytes;
+        private final boolean rejected;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        LimitedBody(int maxBytes, boolean rejected) {
+            this.maxBytes = maxBytes;
+            this.rejected = rejected;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (rejected) {
+                subscription.cancel();
+                result.completeExceptionally(tooLarge());
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (result.isDone()) return;
+            for (ByteBuffer buffer : buffers) {
+                if (out.size() + buffer.remaining() > maxBytes) {
+                    subscription.cancel();
+                    result.completeExceptionally(tooLarge());
+                    return;
+                }
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(out.toByteArray());
+        }
+
+        private IllegalArgumentException tooLarge() {
+            return new IllegalArgumentException("Textur größer als " + (maxBytes / 1024) + " KB");
+        }
+    }
+
+    // ── Disk (IO-Thread) ──────────────────────────────────────────────────────
+
+    private record Hit(Entry entry, ByteBuffer data) {}
+
+    private static Hit readCached(String url) {
+        ensureIndex();
+        Entry entry = INDEX.get(url);
+        if (entry == null) return null;
+        Path file = blob(entry.sha);
+        if (entry.size > TexturePipeline.MAX_ENCODED_BYTES) { // Altbestand vor dem Größenlimit
+            INDEX.remove(url);
+            deleteIfUnreferenced(entry.sha);
+            markDirty();
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != entry.size) throw new IOException("Größe passt nicht");
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, entry.size);
+            if (VERIFIED.add(entry.sha) && !entry.sha.equals(sha256(data.duplicate()))) {
+                VERIFIED.remove(entry.sha);
+                throw new IOException("Prüfsumme passt nicht");
+            }
+            Entry touched = entry.accessed(System.currentTimeMillis());
+            INDEX.put(url, touched);
+            markDirty();
+            return new Hit(touched, data);
+        } catch (IOException e) {
+            INDEX.remove(url);
+            deleteQuietly(file);
+            markDirty();
+            return null;
+        }
+    }
+
+    private static void store(String url, byte[] body, String etag, String lastModified) {
+        ensureIndex();
+        String sha = sha256(ByteBuffer.wrap(body));
+        Path file = blob(sha);
+        try {
+            if (!Files.exists(file) || Files.size(file) != body.length) {
+                Path tmp = file.resolveSibling(sha + ".tmp");
+                Files.write(tmp, body);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            System.err.println("[VoxelClient] Textur-Cache Schreibfehler: " + e.getMessage());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Entry old = INDEX.put(url, new Entry(sha, etag, lastModified, body.length, now, now));
+        VERIFIED.add(sha);
+        if (old != null && !old.sha.equals(sha)) deleteIfUnreferenced(old.sha);
+        enforceLimit();
+        markDirty();
+    }
+
+    /** Löscht die am längsten ungenutzten Dateien, bis der Cache unter 90 % des Limits liegt. */
+    private static void enforceLimit() {
+        Map<String, Long> blobSize   = new HashMap<>();
+        Map<String, Long> blobAccess = new HashMap<>();
+        for (Entry e : INDEX.values()) {
+            blobSize.put(e.sha, e.size);
+            blobAccess.merge(e.sha, e.lastAccess, Math::max);
+        }
+        long total = 0;
+        for (long size : blobSize.values()) total += size;
+        if (total <= MAX_BYTES) return;
+
+        List<String> order = new ArrayList<>(blobAccess.keySet());
+        order.sort((a, b) -> Long.compare(blobAccess.get(a), blobAccess.get(b)));
+        Set<String> evicted = new HashSet<>();
+        long target = MAX_BYTES * 9 / 10;
+        for (String sha : order) {
+            if (total <= target) break;
+            total -= blobSize.get(sha);
+            evicted.add(sha);
+            deleteQuietly(blob(sha));
+        }
+        INDEX.values().removeIf(e -> evicted.contains(e.sha));
+        VERIFIED.removeAll(evicted);
+        System.out.println("[VoxelClient] Textur-Cache: " + evicted.size() + " Dateien verdrängt");
+    }
+
+    private static void deleteIfUnreferenced(String sha) {
+        for (Entry e : INDEX.values()) if (e.sha.equals(sha)) return;
+        VERIFIED.remove(sha);
+        deleteQuietly(blob(sha));
+    }
+
+    // ── Index ─────────────────────────────────────────────────────────────────
+
+    private static void ensureIndex() {
+        if (indexLoaded) return;
+        indexLoaded = true;
+        Path file = dir().resolve("index.json");
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                JsonObject root = GSON.fromJson(reader, JsonObject.class);
+                if (root != null) {
+                    for (var e : root.entrySet()) {
+                        JsonObject o = e.getValue().getAsJsonObject();
+                        INDEX.put(e.getKey(), new Entry(
+                                o.get("sha").getAsString(), str(o, "etag"), str(o, "last_modified"),
+                                o.get("size").getAsLong(), o.get("last_access").getAsLong(),
+                                o.get("validated_at").getAsLong()));
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("[VoxelClient] Textur-Cache Index unlesbar: " + e.getMessage());
+                INDEX.clear();
+            }
+        }
+        // Verwaiste Dateien (z.B. nach Absturz vor dem Index-Schreiben) aufräumen
+        Set<String> referenced = new HashSet<>();
+        for (Entry e : INDEX.values()) referenced.add(e.sha);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir(), "*.{bin,tmp}")) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                if (!name.endsWith(".bin") || !referenced.contains(name.substring(0, name.length() - 4))) {
+                    deleteQuietly(f);
+                }
+            }
+        } catch (IOException ignored) {}
+        System.out.println("[VoxelClient] Textur-Cache: " + INDEX.size() + " URLs im Index");
+    }
+
+    private static void markDirty() {
+        if (indexDirty) return;
+        indexDirty = true;
+        IO.schedule(TextureDiskCache::writeIndex, INDEX_WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void writeIndex() {
+        indexDirty = false;
+        JsonObject root = new JsonObject();
+        INDEX.forEach((url, e) -> {
+            JsonObject o = new JsonObject();
+            o.addProperty("sha", e.sha);
+            if (e.etag != null)         o.addProperty("etag", e.etag);
+            if (e.lastModified != null) o.addProperty("last_modified", e.lastModified);
+            o.addProperty("size", e.size);
+            o.addProperty("last_access", e.lastAccess);
+            o.addProperty("validated_at", e.validatedAt);
+            root.add(url, o);
+        });
+        try {
+            Path target = dir().resolve("index.json");
+            Path tmp = target.resolveSibling("index.json.tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                GSON.toJson(root, writer);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[VoxelClient] Textur-Cache Index Schreibfehler: " + e.getMessage());
+        }
+    }
+
+    // ── Hilfen ────────────────────────────────────────────────────────────────
+
+    private static Path dir() {
+        if (dir == null) {
+            dir = FabricLoader.getInstance().getGameDir()
+                    .resolve("voxelclient").resolve("cache").resolve("textures");
+        }
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ignored) {}
+        return dir;
+    }
+
+    private static Path blob(String sha) {
+        return dir().resolve(sha + ".bin");
+    }
+
+    private static String sha256(ByteBuffer data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {}
+    }
+
+    private static String str(JsonObject o, String key) {
+        return o.has(key) && !o.get(key).isJsonNull() ? o.get(key).getAsString() : null;
+    }
+}
@@ -0,0 +1,278 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.util.Identifier;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gemeinsame Textur-Pipeline für alle dynamisch geladenen Bilder (Cosmetics, Server-Icons).
+ *
+ * Drei Stufen:
+ *   1. Dekodieren: PNG → {@link NativeImage} auf einem kleinen Worker-Pool, nie auf dem
+ *      Render-Thread
+ *   2. Warteschlange: fertig dekodierte Bilder warten auf den Upload
+ *   3. Upload: {@link #onFrame()} (Render-Thread, einmal pro Frame) erzeugt die GPU-Texturen
+ *      und registriert sie, bis das Zeitbudget
+ *      ({@link VoxelClientConfig#textureUploadBudgetMs}) verbraucht ist – mindestens aber
+ *      eine pro Frame, damit die Queue nie hängen bleibt
+ *
+ * Kommen viele Spieler mit Wings/Halos gleichzeitig in Sicht, verteilen sich die Uploads
+ * damit über mehrere Frames statt einen einzelnen Frame zu blockieren.
+ *
+ * Vor dem Upload werden Bilder auf ihre {@link Limits} gebracht: zu große Dateien bzw.
+ * Bildmaße (laut PNG-Header, noch vor dem Dekodieren) werden abgelehnt, größere Bilder
+ * auf die Auflösung verkleinert, die der jeweilige Cosmetic-Typ tatsächlich zeigt. Ein
+ * 4096×4096-Cape kostet so 8 KB statt 64 MB nativen Speicher.
+ */
+public final class TexturePipeline {
+
+    private static final int DECODE_THREADS =
+            Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final ExecutorService DECODER = Executors.newFixedThreadPool(DECODE_THREADS, r -> {
+        Thread t = new Thread(r, "VoxelClient-TexDecode");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    /** Eine GPU-Arbeit auf dem Render-Thread (Upload, Atlas-Kopie, …). */
+    private record Task<T>(Supplier<T> work, CompletableFuture<T> done) {
+        void run() {
+            T result;
+            try {
+                result = work.get();
+            } catch (Exception e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            done.complete(result);
+        }
+    }
+
+    // Harte Grenzen für alles, was vom CDN/Server kommt
+    public  static final int  MAX_ENCODED_BYTES = 4 * 1024 * 1024;
+    private static final long MAX_PIXELS        = 2048L * 2048L;
+
+    /**
+     * Zielgröße eines Bildes: größere Bilder werden (seitenverhältnistreu) in
+     * {@code maxWidth × maxHeight} eingepasst. {@code premultiply} liefert die Pixel mit
+     * vormultipliziertem Alpha (nur für Layer, die so blenden).
+     */
+    public record Limits(int maxWidth, int maxHeight, boolean premultiply) {
+        public static final Limits DEFAULT = new Limits(1024, 1024, false);
+        /** Server-Icons sind laut Protokoll 64×64. */
+        public static final Limits ICON    = new Limits(64, 64, false);
+
+        public Limits withPremultipliedAlpha() {
+            return new Limits(maxWidth, maxHeight, true);
+        }
+    }
+
+    private static final ConcurrentLinkedQueue<Task<?>> UPLOADS  = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger                 UPLOADED = new AtomicInteger();
+
+    private TexturePipeline() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /**
+     * Dekodiert PNG-Bytes auf dem Worker-Pool und bringt das Bild auf {@code limits}.
+     * Schlägt das fehl (oder ist das Bild zu groß), endet das Future mit Exception.
+     */
+    public static CompletableFuture<NativeImage> decode(byte[] png, Limits limits) {
+        return decode(ByteBuffer.wrap(png), limits);
+    }
+
+    /**
+     * Wie {@link #decode(byte[], Limits)}; direkte Buffer (z.B. Memory-Mapped aus dem
+     * {@link TextureDiskCache}) werden ohne Kopie an den PNG-Decoder gereicht.
+     */
+    public static CompletableFuture<NativeImage> decode(ByteBuffer png, Limits limits) {
+        return CompletableFuture.supplyAsync(() -> {
+            checkHeader(png);
+            NativeImage image;
+            try {
+                if (png.isDirect()) image = NativeImage.read(png);
+                else image = NativeImage.read(new ByteArrayInputStream(
+                        png.array(), png.arrayOffset() + png.position(), png.remaining()));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Bild nicht lesbar: " + e.getMessage(), e);
+            }
+            return preprocess(image, limits);
+        }, DECODER);
+    }
+
+    /**
+     * Reiht ein dekodiertes Bild zum Upload ein. Das Future wird auf dem Render-Thread
+     * abgeschlossen, sobald die Textur unter {@code id} registriert ist. Das Bild gehört
+     * ab hier der Pipeline (bzw. danach der Textur).
+     */
+    public static CompletableFuture<Identifier> upload(Identifier id, NativeImage image) {
+        return onRenderThread(() -> {
+            int width = image.getWidth(), height = image.getHeight();
+            try {
+                MinecraftClient.getInstance().getTextureManager()
+                        .registerTexture(id, new NativeImageBackedTexture(image));
+                TextureRegistry.track(id, width, height);
+            } catch (RuntimeException e) {
+                image.close();
+                System.err.println("[VoxelClient] Textur-Upload fehlgeschlagen (" + id + "): " + e.getMessage());
+                throw e;
+            }
+            UPLOADED.incrementAndGet();
+            return id;
+        });
+    }
+
+    /**
+     * Führt GPU-Arbeit auf dem Render-Thread im selben Frame-Budget wie die Uploads aus.
+     * Das Future wird auf dem Render-Thread abgeschlossen.
+     */
+    public static <T> CompletableFuture<T> onRenderThread(Supplier<T> work) {
+        CompletableFuture<T> done = new CompletableFuture<>();
+        UPLOADS.add(new Task<>(work, done));
+        return done;
+    }
+
+    /** Dekodieren + Upload in einem; das Future endet auf dem Render-Thread mit dem Identifier. */
+    public static CompletableFuture<Identifier> load(Identifier id, byte[] png, Limits limits) {
+        return decode(png, limits).thenCompose(image -> upload(id, image));
+    }
+
+    /** Lädt eine CDN-Textur über den {@link TextureDiskCache} und registriert sie unter {@code id}. */
+    public static CompletableFuture<Identifier> loadUrl(Identifier id, String url, Limits limits) {
+        return TextureDiskCache.fetch(url)
+                .thenCompose(png -> decode(png, limits))
+                .thenCompose(image -> upload(id, image));
+    }
+
+    /** Anzahl wartender Uploads (für Debug-Ausgaben). */
+    public static int pendingUploads() {
+        return UPLOADS.size();
+    }
+
+    /** Anzahl bisher hochgeladener Texturen (für Debug-Ausgaben). */
+    public static int uploaded() {
+        return UPLOADED.get();
+    }
+
+    // ── Vorverarbeitung (Worker-Pool) ─────────────────────────────────────────
+
+    /**
+     * Datei- und Bildgröße prüfen, bevor der Decoder Speicher anfordert. Auch vom
+     * {@link TextureDiskCache} vor dem Ablegen genutzt. Wirft IllegalArgumentException.
+     */
+    public static void checkHeader(ByteBuffer png) {
+        int size = png.remaining();
+        if (size > MAX_ENCODED_BYTES) {
+            throw new IllegalArgumentException("Bild zu groß: " + (size / 1024) + " KB");
+        }
+        // PNG: 8 Byte Signatur, dann IHDR (Länge, Typ, Breite, Höhe – big-endian)
+        int p = png.position();
+        if (size >= 24 && png.getInt(p + 12) == 0x49484452) {
+            long w = png.getInt(p + 16) & 0xFFFFFFFFL, h = png.getInt(p + 20) & 0xFFFFFFFFL;
+            if (w * h > MAX_PIXELS) {
+                throw new IllegalArgumentException("Bild zu groß: " + w + "×" + h);
+            }
+        }
+    }
+
+    /** Auf die Zielgröße verkleinern und ggf. Alpha vormultiplizieren; gibt das (neue) Bild zurück. */
+    private static NativeImage preprocess(NativeImage image, Limits limits) {
+        int w = image.getWidth(), h = image.getHeight();
+        if ((long) w * h > MAX_PIXELS) { // Nicht-PNG ohne lesbaren Header
+            image.close();
+            throw new IllegalArgumentException("Bild zu groß: " + w + "×" + h);
+        }
+        double scale = Math.min(1.0, Math.min((double) limits.maxWidth() / w, (double) limits.maxHeight() / h));
+        if (scale < 1.0) {
+            int dw = Math.max(1, (int) Math.round(w * scale));
+            int dh = Math.max(1, (int) Math.round(h * scale));
+            NativeImage scaled = downscale(image, dw, dh, limits.premultiply());
+            image.close();
+            return scaled;
+        }
+        if (limits.premultiply()) {
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) image.setColorArgb(x, y, premultiply(image.getColorArgb(x, y)));
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Flächenmittel (Box-Filter) mit alpha-gewichteten Farben – transparente Pixel färben
+     * die Kanten so nicht dunkel ein.
+     */
+    private static NativeImage downscale(NativeImage src, int dw, int dh, boolean premultiplied) {
+        int sw = src.getWidth(), sh = src.getHeight();
+        NativeImage dst = new NativeImage(dw, dh, false);
+        for (int dy = 0; dy < dh; dy++) {
+            int y0 = dy * sh / dh, y1 = Math.max(y0 + 1, (dy + 1) * sh / dh);
+            for (int dx = 0; dx < dw; dx++) {
+                int x0 = dx * sw / dw, x1 = Math.max(x0 + 1, (dx + 1) * sw / dw);
+                long a = 0, r = 0, g = 0, b = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        int c  = src.getColorArgb(x, y);
+                        int ca = c >>> 24;
+                        a += ca;
+                        r += ((c >> 16) & 0xFF) * ca;
+                        g += ((c >> 8) & 0xFF) * ca;
+                        b += (c & 0xFF) * ca;
+                    }
+                }
+                int n = (x1 - x0) * (y1 - y0);
+                int argb;
+                if (a == 0) {
+                    argb = 0;
+                } else if (premultiplied) {
+                    argb = pack(a / n, r / 255 / n, g / 255 / n, b / 255 / n);
+                } else {
+                    argb = pack(a / n, r / a, g / a, b / a);
+                }
+                dst.setColorArgb(dx, dy, argb);
+            }
+        }
+        return dst;
+    }
+
+    private static int premultiply(int argb) {
+        int a = argb >>> 24;
+        return pack(a, ((argb >> 16) & 0xFF) * a / 255, ((argb >> 8) & 0xFF) * a / 255, (argb & 0xFF) * a / 255);
+    }
+
+    private static int pack(long a, long r, long g, long b) {
+        return (int) (a << 24 | r << 16 | g << 8 | b);
+    }
+
+    /**
+     * Render-Thread, einmal pro Frame (GameRendererMixin): setzt das VRAM-Budget durch
+     * ({@link TextureRegistry}) und lädt wartende Texturen hoch, solange das Frame-Budget reicht.
+     */
+    public static void onFrame() {
+        TextureRegistry.onFrame();
+        if (UPLOADS.isEmpty()) return;
+        long budget   = (long) (VoxelClientConfig.get().textureUploadBudgetMs * 1_000_000L);
+        long deadline = System.nanoTime() + Math.max(0L, budget);
+
+        Task<?> next;
+        do {
+            next = UPLOADS.poll();
+            if (next == null) break;
+            next.run();
+        } while (System.nanoTime() < deadline);
+    }
+}
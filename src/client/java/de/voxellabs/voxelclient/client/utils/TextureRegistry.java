@@ -0,0 +1,174 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import de.voxellabs.voxelclient.client.config.VoxelClientConfig;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Buchführung für alle dynamisch registrierten GPU-Texturen (Cosmetics, Previews, Icons).
+ *
+ * Jede über die {@link TexturePipeline} hochgeladene Textur wird hier mit ihrer geschätzten
+ * Größe (Breite × Höhe × 4 Byte) eingetragen. Nutzer, die eine Textur dauerhaft brauchen
+ * (z.B. ein Cape pro Spieler), halten einen {@link Handle}; alles andere wird nur beim
+ * Zeichnen per {@link #touch} als benutzt markiert.
+ *
+ * Überschreitet die Summe das Budget ({@link VoxelClientConfig#textureVramBudgetMb}), werden
+ * auf dem Render-Thread unreferenzierte Texturen in LRU-Reihenfolge zerstört
+ * ({@code destroyTexture}). Eviction-Listener erfahren davon und vergessen ihre Identifier –
+ * beim nächsten Zugriff wird die Textur (aus dem Disk-Cache) neu geladen.
+ */
+public final class TextureRegistry {
+
+    private static final class Entry {
+        final Identifier    id;
+        volatile long       bytes;   // ändert sich, wenn derselbe Identifier neu registriert wird
+        final AtomicInteger refs = new AtomicInteger();
+        volatile long       lastUse = System.nanoTime();
+
+        Entry(Identifier id) { this.id = id; }
+    }
+
+    /** Referenz auf eine Textur; {@link #close()} gibt sie (einmalig) wieder frei. */
+    public static final class Handle implements AutoCloseable {
+        private final Entry entry;
+        private boolean closed;
+
+        private Handle(Entry entry) { this.entry = entry; }
+
+        public Identifier id() {
+            entry.lastUse = System.nanoTime();
+            return entry.id;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) return;
+            closed = true;
+            entry.refs.decrementAndGet();
+            entry.lastUse = System.nanoTime();
+            dirty = true;
+        }
+    }
+
+    public record Stats(int live, long bytes, int referenced, long destroyed, long budgetBytes) {
+        @Override
+        public String toString() {
+            return String.format("Texturen: %d live (%d referenziert), %.1f / %.0f MB, %d zerstört",
+                    live, referenced, bytes / 1048576.0, budgetBytes / 1048576.0, destroyed);
+        }
+    }
+
+    private static final Map<Identifier, Entry>          ENTRIES   = new ConcurrentHashMap<>();
+    private static final AtomicLong                      LIVE_BYTES = new AtomicLong();
+    private static final AtomicLong                      DESTROYED = new AtomicLong();
+    private static final List<Consumer<Identifier>>      LISTENERS = new CopyOnWriteArrayList<>();
+
+    // Seit dem letzten Eviction-Durchgang neue Textur oder freigegebene Referenz? Ohne das
+    // gibt es über Budget nichts Neues zu zerstören → onFrame muss nicht erneut suchen.
+    private static volatile boolean dirty = true;
+    private static long             lastBudget; // Render-Thread
+
+    private TextureRegistry() {}
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** Neue (oder ersetzte) Textur eintragen. Render-Thread, direkt nach registerTexture. */
+    public static void track(Identifier id, int width, int height) {
+        long bytes = (long) width * height * 4;
+        // Gleicher Identifier neu registriert (MC hat die alte Textur geschlossen) → denselben
+        // Eintrag behalten, damit bestehende Handles weiter auf ihn zählen; nur die Größe ändert sich
+        Entry entry = ENTRIES.computeIfAbsent(id, Entry::new);
+        LIVE_BYTES.addAndGet(bytes - entry.bytes);
+        entry.bytes   = bytes;
+        entry.lastUse = System.nanoTime();
+        dirty = true;
+    }
+
+    /** Dauerhafte Referenz holen; null wenn die Textur nicht (mehr) existiert. */
+    public static Handle retain(Identifier id) {
+        Entry entry = ENTRIES.get(id);
+        if (entry == null) return null;
+        entry.refs.incrementAndGet();
+        entry.lastUse = System.nanoTime();
+        return new Handle(entry);
+    }
+
+    /** Textur wurde gerade benutzt (Zeichnen) → rückt in der LRU-Reihenfolge nach hinten. */
+    public static void touch(Identifier id) {
+        Entry entry = ENTRIES.get(id);
+        if (entry != null) entry.lastUse = System.nanoTime();
+    }
+
+    /** true solange mindestens ein {@link Handle} die Textur hält. */
+    public static boolean isReferenced(Identifier id) {
+        Entry entry = ENTRIES.get(id);
+        return entry != null && entry.refs.get() > 0;
+    }
+
+    /** Wird aufgerufen, wenn eine Textur zerstört wurde (Render-Thread). */
+    public static void addEvictionListener(Consumer<Identifier> listener) {
+        LISTENERS.add(listener);
+    }
+
+    /** Textur sofort zerstören, unabhängig von Referenzen (z.B. clearCache). Render-Thread. */
+    public static void destroy(Identifier id) {
+        Entry entry = ENTRIES.remove(id);
+        if (entry == null) return;
+        LIVE_BYTES.addAndGet(-entry.bytes);
+        DESTROYED.incrementAndGet();
+        MinecraftClient.getInstance().getTextureManager().destroyTexture(id);
+        for (Consumer<Identifier> listener : LISTENERS) listener.accept(id);
+    }
+
+    /**
+     * Render-Thread, einmal pro Frame: Budget durchsetzen. Gesucht wird nur, wenn seit dem
+     * letzten Durchgang eine Textur dazukam, eine Referenz frei wurde oder das Budget sich
+     * geändert hat – sind alle Texturen referenziert, bleibt es sonst bei zwei Vergleichen.
+     */
+    public static void onFrame() {
+        long budget = budgetBytes();
+        if (LIVE_BYTES.get() <= budget) return;
+        if (!dirty && budget == lastBudget) return;
+        dirty = false; // vor dem Sammeln: Freigaben währenddessen lösen den nächsten Durchgang aus
+        lastBudget = budget;
+
+        List<Entry> candidates = new ArrayList<>();
+        for (Entry e : ENTRIES.values()) {
+            if (e.refs.get() <= 0) candidates.add(e);
+        }
+        if (candidates.isEmpty()) return;
+        // lastUse vorher einfrieren, damit sich die Sortierung nicht unter uns ändert
+        long[] lastUse = new long[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) { order[i] = i; lastUse[i] = candidates.get(i).lastUse; }
+        Arrays.sort(order, (a, b) -> Long.compare(lastUse[a], lastUse[b]));
+
+        long target = budget * 9 / 10;
+        for (int i : order) {
+            if (LIVE_BYTES.get() <= target) break;
+            Entry e = candidates.get(i);
+            if (e.refs.get() > 0) continue; // inzwischen wieder referenziert
+            destroy(e.id);
+        }
+    }
+
+    public static Stats stats() {
+        int referenced = 0;
+        for (Entry e : ENTRIES.values()) if (e.refs.get() > 0) referenced++;
+        return new Stats(ENTRIES.size(), LIVE_BYTES.get(), referenced, DESTROYED.get(), budgetBytes());
+    }
+
+    private static long budgetBytes() {
+        return (long) VoxelClientConfig.get().textureVramBudgetMb * 1024 * 1024;
+    }
+}
@@ -6,16 +6,21 @@ import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 
-import java.util.Collections;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 public final class VoxelClientNetwork {
 
     // ── Set aller Spieler die VoxelClient nutzen ──────────────────────────────
-    private static final Set<UUID> VOXEL_USERS =
-            Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // Nur über die Größe begrenzt, kein Alterslimit: der Handshake-Status gilt, bis der Spieler
+    // den Server verlässt (PlayerCacheLifecycle) oder wir selbst trennen – auch wenn er
+    // stundenlang nicht nachgeschlagen wird. Jeder bekannte Nutzer ist zugleich beim
+    // PushChannel abonniert.
+    private static final BoundedCache<UUID, Boolean> VOXEL_USERS =
+            new BoundedCache<UUID, Boolean>("voxel-users", 4000, Long.MAX_VALUE, 96)
+                    .onRemoval((uuid, v) -> PushChannel.untrack(uuid));
+
+    // Eigener Spieler wird nie verdrängt
+    private static volatile UUID ownUuid = null;
 
     private VoxelClientNetwork() {}
 
@@ -23,11 +28,16 @@ public final class VoxelClientNetwork {
      * Gibt zurück, ob ein Spieler VoxelClient nutzt.
      */
     public static boolean isVoxelUser(UUID uuid) {
-        return VOXEL_USERS.contains(uuid);
+        return uuid.equals(ownUuid) || VOXEL_USERS.get(uuid) != null;
     }
 
     public static void addVoxelUser(UUID uuid) {
-        VOXEL_USERS.add(uuid);
+        VOXEL_USERS.put(uuid, Boolean.TRUE);
+        PushChannel.track(uuid);
+    }
+
+    public static BoundedCache.Stats stats() {
+        return VOXEL_USERS.stats();
     }
 
     public static void removeVoxelUser(UUID uuid) {
@@ -49,7 +59,7 @@ public final class VoxelClientNetwork {
                 HandshakePayload.ID,
                 (payload, context) -> {
                     UUID sender = payload.uuid();
-                    VOXEL_USERS.add(sender);
+                    addVoxelUser(sender);
 
                     // Badge + Cosmetics laden sobald VoxelClient-Nutzer bestätigt
                     BadgeApiClient.prefetch(sender);
@@ -60,15 +70,19 @@ public final class VoxelClientNetwork {
         // Beim Server-Join: eigenes Paket senden + eigene UUID registrieren
         ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> {
             if (client.player == null) return;
-            UUID ownUuid = client.player.getUuid();
-            VOXEL_USERS.add(ownUuid);
-            ClientPlayNetworking.send(new HandshakePayload(ownUuid));
-            BadgeApiClient.prefetch(ownUuid); // sofort laden
+            UUID own = client.player.getUuid();
+            ownUuid = own;
+            PushChannel.start();
+            PushChannel.track(own);
+            ClientPlayNetworking.send(new HandshakePayload(own));
+            BadgeApiClient.prefetch(own); // sofort laden
         });
 
         // Beim Disconnect: Liste leeren
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
             VOXEL_USERS.clear();
+            PushChannel.stop();
+            ownUuid = null;
             // Badge-Cache muss nicht geleert werden – TTL von 5min ist ok
         });
     }
@@ -2,9 +2,8 @@ package de.voxellabs.voxelclient.client.version;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import de.voxellabs.voxelclient.client.utils.HttpGateway;
 
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -80,7 +79,7 @@ public final class VersionChecker {
         String apiUrl = "https://api.github.com/repos/"
                 + GITHUB_OWNER + "/" + GITHUB_REPO + "/releases/latest";
 
-        CompletableFuture.supplyAsync(() -> fetchLatestTag(apiUrl))
+        fetchLatestTag(apiUrl)
                 .thenAccept(tag -> {
                     checking  = false;
                     checkDone = true;
@@ -114,31 +113,23 @@ public final class VersionChecker {
     // ── Interne Hilfsmethoden ─────────────────────────────────────────────────
 
     /**
-     * Führt den HTTP-Request durch und gibt den Tag-Namen zurück,
+     * Führt den HTTP-Request über das {@link HttpGateway} durch und liefert den Tag-Namen,
      * oder {@code null} bei einem Fehler.
      */
-    private static String fetchLatestTag(String apiUrl) {
-        try {
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(5))
-                    .build();
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(apiUrl))
-                    .timeout(Duration.ofSeconds(10))
-                    // GitHub API verlangt einen User-Agent
-                    .header("User-Agent", "VoxelClient-UpdateChecker/" + CURRENT_VERSION)
-                    .header("Accept", "application/vnd.github+json")
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response =
-                    client.send(request, HttpResponse.BodyHandlers.ofString());
-
+    private static CompletableFuture<String> fetchLatestTag(String apiUrl) {
+        HttpRequest request = HttpGateway.request(apiUrl)
+                .timeout(Duration.ofSeconds(10))
+                // GitHub API verlangt einen User-Agent
+                .setHeader("User-Agent", "VoxelClient-UpdateChecker/" + CURRENT_VERSION)
+                .header("Accept", "application/vnd.github+json")
+                .GET()
+                .build();
+
+        return HttpGateway.send(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
             if (response.statusCode() == 404) {
                 // Noch kein Release erstellt → kein Update
                 errorMessage = "Noch keine Releases auf GitHub gefunden.";
-                return null;
+                return (String) null;
             }
 
             if (response.statusCode() != 200) {
@@ -155,15 +146,11 @@ public final class VersionChecker {
             }
 
             return json.get("tag_name").getAsString();
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            errorMessage = "Unterbrochen: " + e.getMessage();
+        }).exceptionally(e -> {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            errorMessage = cause.getClass().getSimpleName() + ": " + cause.getMessage();
             return null;
-        } catch (Exception e) {
-            errorMessage = e.getClass().getSimpleName() + ": " + e.getMessage();
-            return null;
-        }
+        });
     }
 
     /**
@@ -0,0 +1,39 @@
+package de.voxellabs.voxelclient.client.cosmetics.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtlasRegionTest {
+
+    private static final float EPS = 1e-6f;
+
+    @Test
+    void edgesAreInsetByHalfATexel() {
+        AtlasRegion region = AtlasRegion.of(2, new ShelfPacker.Rect(64, 128, 32, 16), 1024, 512);
+
+        assertEquals(2, region.page());
+        assertEquals(64f / 1024 + 0.5f / 1024, region.u0(), EPS);
+        assertEquals(128f / 512 + 0.5f / 512, region.v0(), EPS);
+        assertEquals(96f / 1024 - 0.5f / 1024, region.u1(), EPS);
+        assertEquals(144f / 512 - 0.5f / 512, region.v1(), EPS);
+    }
+
+    @Test
+    void mapsLocalUvsIntoRegion() {
+        AtlasRegion region = AtlasRegion.of(0, new ShelfPacker.Rect(0, 0, 512, 512), 1024, 1024);
+
+        assertEquals(region.u0(), region.u(0f), EPS);
+        assertEquals(region.u1(), region.u(1f), EPS);
+        assertEquals(region.v0(), region.v(0f), EPS);
+        assertEquals(region.v1(), region.v(1f), EPS);
+        assertEquals((region.u0() + region.u1()) / 2, region.u(0.5f), EPS);
+        assertEquals(0.25f, region.v(0.5f), 1e-3f);
+    }
+
+    @Test
+    void fullRegionLeavesUvsUnchanged() {
+        assertEquals(0.3f, AtlasRegion.FULL.u(0.3f), EPS);
+        assertEquals(0.7f, AtlasRegion.FULL.v(0.7f), EPS);
+    }
+}
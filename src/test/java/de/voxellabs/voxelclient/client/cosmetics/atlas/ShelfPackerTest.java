@@ -0,0 +1,102 @@
+package de.voxellabs.voxelclient.client.cosmetics.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShelfPackerTest {
+
+    @Test
+    void placesSideBySideOnOneShelfWithPadding() {
+        ShelfPacker packer = new ShelfPacker(256, 256, 2);
+
+        ShelfPacker.Rect a = packer.insert(32, 32);
+        ShelfPacker.Rect b = packer.insert(32, 32);
+
+        assertEquals(new ShelfPacker.Rect(0, 0, 32, 32), a);
+        assertEquals(new ShelfPacker.Rect(34, 0, 32, 32), b); // 32 + 2 Padding
+    }
+
+    @Test
+    void newShelfStartsBelowPaddedShelf() {
+        ShelfPacker packer = new ShelfPacker(64, 256, 2);
+
+        packer.insert(40, 32);
+        ShelfPacker.Rect second = packer.insert(40, 32); // passt nicht mehr daneben
+
+        assertEquals(0, second.x());
+        assertEquals(34, second.y());
+    }
+
+    @Test
+    void bestFitPrefersLowestShelfThatFits() {
+        ShelfPacker packer = new ShelfPacker(256, 256, 0);
+        packer.insert(200, 64);   // Regal A: Höhe 64 bei y=0
+        packer.insert(200, 40);   // Regal B: Höhe 40 bei y=64 (A zu schmal)
+
+        ShelfPacker.Rect small = packer.insert(40, 36);
+
+        assertEquals(64, small.y(), "36 hoch passt in beide Regale, das niedrigere (40) gewinnt");
+        assertEquals(200, small.x());
+    }
+
+    @Test
+    void opensNewShelfInsteadOfWastingTallShelf() {
+        ShelfPacker packer = new ShelfPacker(256, 256, 0);
+        packer.insert(64, 100);
+
+        ShelfPacker.Rect tiny = packer.insert(16, 16); // Regal wäre > doppelt so hoch
+
+        assertEquals(100, tiny.y());
+        assertEquals(0, tiny.x());
+    }
+
+    @Test
+    void usesTallShelfWhenNoRoomForNewShelf() {
+        ShelfPacker packer = new ShelfPacker(256, 100, 0);
+        packer.insert(64, 100);
+
+        ShelfPacker.Rect tiny = packer.insert(16, 16);
+
+        assertEquals(new ShelfPacker.Rect(64, 0, 16, 16), tiny);
+    }
+
+    @Test
+    void overflowReturnsNull() {
+        ShelfPacker packer = new ShelfPacker(64, 64, 2);
+
+        assertNull(packer.insert(64, 10), "breiter als Seite inkl. Padding");
+        assertNotNull(packer.insert(30, 30));
+        assertNotNull(packer.insert(30, 30));
+        assertNotNull(packer.insert(30, 30));
+        assertNotNull(packer.insert(30, 30));
+        assertNull(packer.insert(30, 30), "Seite voll → nächste Seite bzw. REJECTED");
+    }
+
+    @Test
+    void rejectsInvalidSize() {
+        ShelfPacker packer = new ShelfPacker(64, 64, 0);
+        assertThrows(IllegalArgumentException.class, () -> packer.insert(0, 10));
+    }
+
+    @Test
+    void releaseAndResetMakePageReusable() {
+        ShelfPacker packer = new ShelfPacker(64, 64, 0);
+        assertTrue(packer.isFresh());
+        ShelfPacker.Rect a = packer.insert(64, 32);
+        ShelfPacker.Rect b = packer.insert(64, 32);
+        assertNull(packer.insert(64, 32));
+        assertEquals(1.0, packer.occupancy(), 1e-9);
+
+        packer.release(a);
+        assertFalse(packer.isEmpty());
+        assertNull(packer.insert(64, 32), "einzelne Freigaben werden nicht wiederverwendet");
+        packer.release(b);
+        assertTrue(packer.isEmpty());
+        assertEquals(0.0, packer.occupancy(), 1e-9);
+
+        packer.reset();
+        assertTrue(packer.isFresh());
+        assertEquals(new ShelfPacker.Rect(0, 0, 64, 32), packer.insert(64, 32));
+    }
+}
@@ -0,0 +1,205 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsApiResponse;
+import de.voxellabs.voxelclient.client.cosmetics.CosmeticsProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Zeitmessung für das Lesen von Batch-Antworten (JUnit statt JMH, das Projekt hat keinen
+ * Benchmark-Source-Set).
+ *
+ * Streaming: die echte {@link BatchPipeline#decodeSingle} liest die Antwort aus einem
+ * InputStream und reicht jeden Eintrag an den Decoder eines {@link BatchPipeline.Channel}.
+ * Der Decoder macht dieselbe Arbeit wie der Cosmetics-Decoder – DTO per TypeAdapter,
+ * {@link CosmeticsProfile}, JSON für den Disk-Cache –, nur ohne Cache-/Platten-Seiteneffekte
+ * (die brauchen ein laufendes Fabric).
+ *
+ * Baum: der frühere Weg (ganze Antwort als String → JsonObject → DTO pro Eintrag), hier
+ * nachgebaut, weil es ihn im Code nicht mehr gibt.
+ *
+ * Die Messung läuft nur auf Wunsch:
+ *   ./gradlew test --tests '*BatchDecodeBenchmarkTest' -Dvoxel.bench=true
+ * Die Gleichheits-Tests laufen immer mit.
+ */
+class BatchDecodeBenchmarkTest {
+
+    private static final Gson GSON = new Gson();
+    private static final TypeAdapter<CosmeticsApiResponse> ADAPTER = GSON.getAdapter(CosmeticsApiResponse.class);
+
+    private static final int PLAYERS   = 50;   // volles Cosmetics-Batch (BATCH_MAX_SIZE)
+    private static final int WARMUP    = 2_000;
+    private static final int ROUNDS    = 5;
+    private static final int PER_ROUND = 1_000;
+
+    private final List<UUID> uuids = new ArrayList<>();
+    private final byte[] body = payload(uuids);
+
+    /** Sammelt, was der Channel-Decoder geliefert bekommt. */
+    private static final class Collecting implements BatchPipeline.Decoder {
+        final List<CosmeticsApiResponse> read    = new ArrayList<>();
+        final List<UUID>                 missing = new ArrayList<>();
+        final List<UUID>                 failed  = new ArrayList<>();
+        long diskChars;
+
+        @Override
+        public void read(UUID uuid, JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                missing(uuid);
+                return;
+            }
+            CosmeticsApiResponse dto = ADAPTER.read(reader);
+            CosmeticsProfile.from(dto);
+            diskChars += ADAPTER.toJson(dto).length();
+            read.add(dto);
+        }
+
+        @Override public void missing(UUID uuid)     { missing.add(uuid); }
+        @Override public void notModified(UUID uuid) { }
+        @Override public void fail(UUID uuid)        { failed.add(uuid); }
+    }
+
+    private static BatchPipeline.Channel channel(Collecting decoder) {
+        return new BatchPipeline.Channel("bench-cosmetics", "http://127.0.0.1/unused",
+                PLAYERS, Duration.ofSeconds(1), decoder);
+    }
+
+    @Test
+    void treeAndStreamingDecodeAgree() {
+        List<CosmeticsApiResponse> tree = decodeTree(body, uuids);
+        Collecting stream = decodeStreaming(body, uuids);
+
+        assertEquals(PLAYERS, tree.size());
+        assertEquals(PLAYERS, stream.read.size());
+        assertTrue(stream.failed.isEmpty());
+        for (int i = 0; i < PLAYERS; i++) {
+            assertEquals(ADAPTER.toJson(tree.get(i)), ADAPTER.toJson(stream.read.get(i)));
+        }
+    }
+
+    @Test
+    void streamingReportsUuidsWithoutEntryAsMissing() {
+        List<UUID> requested = new ArrayList<>(uuids);
+        UUID absent = new UUID(0, 0);
+        requested.add(absent);
+
+        Collecting stream = decodeStreaming(body, requested);
+
+        assertEquals(PLAYERS, stream.read.size());
+        assertEquals(List.of(absent), stream.missing);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "voxel.bench", matches = "true")
+    void compareTreeAndStreaming() {
+        for (int i = 0; i < WARMUP; i++) {
+            decodeTree(body, uuids);
+            decodeStreaming(body, uuids);
+        }
+
+        System.out.printf("[VoxelClient] Batch-Decode, %d Spieler, %d Bytes, Java %s%n",
+                PLAYERS, body.length, Runtime.version());
+        for (int round = 1; round <= ROUNDS; round++) {
+            Result tree = measure(() -> decodeTree(body, uuids).size());
+            Result stream = measure(() -> decodeStreaming(body, uuids).read.size());
+            System.out.printf("  Runde %d: Baum %.1f us / %.0f KB, Streaming %.1f us / %.0f KB (%.2fx)%n",
+                    round, tree.micros, tree.kilobytes, stream.micros, stream.kilobytes, tree.micros / stream.micros);
+        }
+    }
+
+    // ── Varianten ─────────────────────────────────────────────────────────────
+
+    /** Früherer Weg: ganze Antwort als String, Baum, dann pro Eintrag DTO + toString für die Platte. */
+    private static List<CosmeticsApiResponse> decodeTree(byte[] body, List<UUID> uuids) {
+        JsonObject map = GSON.fromJson(new String(body, StandardCharsets.UTF_8), JsonObject.class);
+        List<CosmeticsApiResponse> out = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            JsonElement entry = map.get(uuid.toString());
+            if (entry == null || !entry.isJsonObject()) continue;
+            CosmeticsApiResponse dto = GSON.fromJson(entry, CosmeticsApiResponse.class);
+            CosmeticsProfile.from(dto);
+            blackhole += entry.toString().length();
+            out.add(dto);
+        }
+        return out;
+    }
+
+    /** Jetziger Weg: BatchPipeline liest den Stream, der Channel-Decoder das DTO. */
+    private static Collecting decodeStreaming(byte[] body, List<UUID> uuids) {
+        Collecting decoder = new Collecting();
+        BatchPipeline.decodeSingle(channel(decoder), uuids, new ByteArrayInputStream(body));
+        blackhole += decoder.diskChars;
+        return decoder;
+    }
+
+    // ── Messung ───────────────────────────────────────────────────────────────
+
+    private record Result(double micros, double kilobytes) {}
+
+    private static long blackhole;
+
+    private static Result measure(java.util.function.IntSupplier decode) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < PER_ROUND; i++) blackhole += decode.getAsInt();
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        return new Result(nanos / 1_000.0 / PER_ROUND, bytes / 1024.0 / PER_ROUND);
+    }
+
+    // ── Testdaten ─────────────────────────────────────────────────────────────
+
+    /** Volles Batch im Format von /api/cosmetics/batch, Spieler mit typischem Inventar. */
+    private static byte[] payload(List<UUID> uuids) {
+        JsonObject root = new JsonObject();
+        for (int p = 0; p < PLAYERS; p++) {
+            UUID uuid = new UUID(0x5EED_0000L + p, p * 31L);
+            uuids.add(uuid);
+
+            JsonObject entry = new JsonObject();
+            entry.addProperty("uuid", uuid.toString());
+            JsonArray items = new JsonArray();
+            for (int i = 0; i < 12 + p % 10; i++) items.add(i * 3 + p % 3 + 1);
+            entry.add("owned_item_ids", items);
+            JsonArray badges = new JsonArray();
+            for (int i = 0; i < 1 + p % 4; i++) badges.add(i + 1);
+            entry.add("owned_badge_ids", badges);
+
+            JsonObject active = new JsonObject();
+            for (String slot : new String[] { "cape", "halo", "wings", "trail" }) {
+                JsonObject state = new JsonObject();
+                boolean on = (p + slot.length()) % 3 != 0;
+                if (on) state.addProperty("item_id", items.get(slot.length() % items.size()).getAsInt());
+                else state.add("item_id", null);
+                state.addProperty("enabled", on);
+                active.add(slot, state);
+            }
+            entry.add("active", active);
+            entry.addProperty("etag", "\"" + Long.toHexString(uuid.getMostSignificantBits() * 0x9E3779B97F4A7C15L) + "\"");
+            root.add(uuid.toString(), entry);
+        }
+        return root.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void demotedEntrySurvivesIdleSweep() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test-demote-sweep", 10, 10 * MINUTE, 1);
+        cache.put("a", "A");
+        cache.demote("a");
+
+        // Nächster Sweep (30 s später) – weit unter maxIdle
+        cache.expireIdle(System.currentTimeMillis() + 31_000L);
+
+        assertEquals("A", cache.peek("a"));
+    }
+
+    @Test
+    void demotedEntryStillExpiresAfterMaxIdle() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test-demote-idle", 10, MINUTE, 1);
+        cache.put("a", "A");
+        cache.demote("a");
+
+        cache.expireIdle(System.currentTimeMillis() + 2 * MINUTE);
+
+        assertNull(cache.peek("a"));
+    }
+
+    @Test
+    void unlimitedIdleNeverExpires() {
+        BoundedCache<String, Boolean> cache = new BoundedCache<>("test-no-idle", 10, Long.MAX_VALUE, 1);
+        cache.put("a", Boolean.TRUE);
+
+        cache.expireIdle(System.currentTimeMillis() + 365L * 24 * 60 * MINUTE);
+
+        assertEquals(Boolean.TRUE, cache.peek("a"));
+    }
+
+    @Test
+    void shrinkEvictsDemotedEntriesFirst() {
+        List<String> removed = new ArrayList<>();
+        BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>("test-demote-shrink", 10, 10 * MINUTE, 1)
+                .onRemoval((key, value) -> removed.add(key));
+        for (int i = 0; i < 10; i++) cache.put("k" + i, i);
+        cache.demote("k9"); // zuletzt geschrieben, aber außer Sichtweite
+
+        cache.put("k10", 10); // 11 > 10 → auf 9 schrumpfen
+
+        assertEquals(9, cache.size());
+        assertEquals("k9", removed.get(0));
+        assertFalse(cache.containsKey("k9"));
+    }
+
+    @Test
+    void getClearsDemotion() throws InterruptedException {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test-demote-get", 10, 10 * MINUTE, 1);
+        for (int i = 0; i < 10; i++) cache.put("k" + i, i);
+        cache.demote("k0");
+        Thread.sleep(5);
+        cache.get("k0"); // Spieler wieder sichtbar → normaler, frischer Eintrag
+
+        cache.put("k10", 10);
+
+        assertTrue(cache.containsKey("k0"));
+    }
+}
@@ -0,0 +1,213 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimaler WebSocket-Server (RFC 6455) auf localhost als Ersatz für den Push-Endpoint
+ * des Backends.
+ *
+ * Kann genau das, was {@link PushChannel} braucht: Handshake, maskierte Textframes vom
+ * Client lesen, Textframes senden und die Verbindung serverseitig beenden. Es gibt immer
+ * nur eine aktive Verbindung; ein Reconnect ersetzt sie.
+ */
+final class LocalPushServer implements Closeable {
+
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final ServerSocket server;
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile Socket current;
+
+    LocalPushServer() throws IOException {
+        server = new ServerSocket(0, 8, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "LocalPushServer");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    URI uri() {
+        return URI.create("ws://127.0.0.1:" + server.getLocalPort() + "/api/push");
+    }
+
+    /** Anzahl bisher angenommener Verbindungen (inkl. Reconnects). */
+    int connections() {
+        return connections.get();
+    }
+
+    /** Nächster Textframe vom Client oder null nach {@code timeoutMs}. */
+    String awaitMessage(long timeoutMs) throws InterruptedException {
+        return received.poll(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Textframe an den aktuell verbundenen Client senden. */
+    synchronized void send(String text) throws IOException {
+        Socket socket = current;
+        if (socket == null) throw new IOException("kein Client verbunden");
+        writeFrame(socket.getOutputStream(), 0x1, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Verbindung serverseitig beenden (Close-Frame 1001 "going away", dann TCP schließen). */
+    synchronized void dropConnection() throws IOException {
+        Socket socket = current;
+        if (socket == null) return;
+        current = null;
+        try {
+            writeFrame(socket.getOutputStream(), 0x8, new byte[] { 0x03, (byte) 0xE9 });
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        Socket socket = current;
+        if (socket != null) socket.close();
+    }
+
+    // ── Intern ────────────────────────────────────────────────────────────────
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                handshake(socket);
+                synchronized (this) {
+                    current = socket;
+                }
+                connections.incrementAndGet();
+                Thread reader = new Thread(() -> readLoop(socket), "LocalPushServer-Read");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                // Server geschlossen oder kaputter Handshake → nächste Verbindung
+            }
+        }
+    }
+
+    private static void handshake(Socket socket) throws IOException {
+        String request = readHeaders(socket.getInputStream());
+        String key = null;
+        for (String line : request.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+        if (key == null) {
+            socket.close();
+            throw new IOException("kein Sec-WebSocket-Key");
+        }
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        OutputStream out = socket.getOutputStream();
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /** Liest bis zur Leerzeile; byteweise, damit keine Frame-Daten verschluckt werden. */
+    private static String readHeaders(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        int b, matched = 0;
+        byte[] end = { '\r', '\n', '\r', '\n' };
+        while (matched < end.length && (b = in.read()) != -1) {
+            buf.write(b);
+            matched = b == end[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        return buf.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] sha1 = MessageDigest.getInstance("SHA-1")
+                    .digest((key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(sha1);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try {
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            ByteArrayOutputStream message = new ByteArrayOutputStream();
+            while (true) {
+                int b0 = in.readUnsignedByte();
+                int b1 = in.readUnsignedByte();
+                boolean fin = (b0 & 0x80) != 0;
+                int opcode = b0 & 0x0F;
+                long len = b1 & 0x7F;
+                if (len == 126) len = in.readUnsignedShort();
+                else if (len == 127) len = in.readLong();
+                byte[] mask = new byte[4];
+                if ((b1 & 0x80) != 0) in.readFully(mask);
+                byte[] payload = new byte[(int) len];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) payload[i] ^= mask[i & 3];
+
+                switch (opcode) {
+                    case 0x0, 0x1 -> {
+                        message.write(payload);
+                        if (fin) {
+                            received.add(message.toString(StandardCharsets.UTF_8));
+                            message.reset();
+                        }
+                    }
+                    case 0x8 -> {
+                        synchronized (this) {
+                            writeFrame(socket.getOutputStream(), 0x8, payload);
+                            if (current == socket) current = null;
+                        }
+                        socket.close();
+                        return;
+                    }
+                    case 0x9 -> {
+                        synchronized (this) {
+                            writeFrame(socket.getOutputStream(), 0xA, payload);
+                        }
+                    }
+                    default -> { /* Pong u.ä. ignorieren */ }
+                }
+            }
+        } catch (IOException e) {
+            // Verbindung weg (dropConnection, Client-Abbruch, close)
+        }
+    }
+
+    /** Unmaskierter Frame vom Server (Aufruf mit Lock auf {@code this}). */
+    private static void writeFrame(OutputStream out, int opcode, byte[] payload) throws IOException {
+        out.write(0x80 | opcode);
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length <= 0xFFFF) {
+            out.write(126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length & 0xFF);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) out.write((int) ((long) payload.length >>> shift) & 0xFF);
+        }
+        out.write(payload);
+        out.flush();
+    }
+}
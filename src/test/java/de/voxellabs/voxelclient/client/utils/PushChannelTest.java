@@ -0,0 +1,131 @@
+package de.voxellabs.voxelclient.client.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushChannelTest {
+
+    private static final String DOMAIN  = "push-test";
+    private static final long   TIMEOUT = 10_000L; // Reconnect-Backoff liegt bei 1–2 s
+
+    private final BlockingQueue<Map.Entry<UUID, JsonElement>> updates     = new LinkedBlockingQueue<>();
+    private final BlockingQueue<UUID>                         invalidated = new LinkedBlockingQueue<>();
+
+    private LocalPushServer server;
+    private RefreshScheduler.Domain refresh;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server  = new LocalPushServer();
+        refresh = new RefreshScheduler.Domain(DOMAIN, 60 * 60_000L, uuid -> {}, uuid -> false);
+
+        BatchPipeline.Decoder decoder = new BatchPipeline.Decoder() {
+            @Override public void read(UUID uuid, JsonReader reader) {
+                updates.add(Map.entry(uuid, JsonParser.parseReader(reader)));
+            }
+            @Override public void missing(UUID uuid) {}
+            @Override public void notModified(UUID uuid) {}
+            @Override public void fail(UUID uuid) {}
+        };
+        BatchPipeline.Channel channel = new BatchPipeline.Channel(
+                DOMAIN, "http://127.0.0.1/unused", 10, Duration.ofSeconds(1), decoder);
+        PushChannel.register(channel, refresh, invalidated::add);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        PushChannel.stop();
+        server.close();
+    }
+
+    @Test
+    void subscribeUpdateInvalidateAndResyncAfterReconnect() throws Exception {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        // ── Subscribe: beim Connect alle bekannten Spieler, danach gesammelt ──
+        PushChannel.track(a);
+        PushChannel.start(server.uri());
+
+        assertEquals(Set.of(a), subscribed(server.awaitMessage(TIMEOUT)));
+        assertTrue(PushChannel.isConnected());
+        assertTrue(PushChannel.covers(a));
+        assertFalse(PushChannel.covers(b));
+
+        PushChannel.track(b);
+        assertEquals(Set.of(b), subscribed(server.awaitMessage(TIMEOUT)));
+
+        // ── Update: data geht an den Decoder der Domain ──
+        server.send("{\"type\":\"update\",\"domain\":\"" + DOMAIN + "\",\"uuid\":\"" + a
+                + "\",\"data\":{\"active\":[7]}}");
+        Map.Entry<UUID, JsonElement> update = updates.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(update);
+        assertEquals(a, update.getKey());
+        assertEquals(7, update.getValue().getAsJsonObject().getAsJsonArray("active").get(0).getAsInt());
+
+        // ── Invalidate: geht an den Invalidator ──
+        server.send("{\"type\":\"invalidate\",\"domain\":\"" + DOMAIN + "\",\"uuid\":\"" + b + "\"}");
+        assertEquals(b, invalidated.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // Nicht abonnierte Spieler und unbekannte Domains werden ignoriert
+        server.send("{\"type\":\"invalidate\",\"domain\":\"" + DOMAIN + "\",\"uuid\":\"" + UUID.randomUUID() + "\"}");
+        server.send("{\"type\":\"invalidate\",\"domain\":\"other\",\"uuid\":\"" + a + "\"}");
+        assertNull(invalidated.poll(300, TimeUnit.MILLISECONDS));
+
+        // ── Abbruch: Refreshes vorziehen, Reconnect abonniert den kompletten Stand neu ──
+        long now = System.currentTimeMillis();
+        RefreshScheduler.schedule(refresh, a, now);
+        assertTrue(refresh.due.get(a) > now + 30 * 60_000L, "TTL-Refresh liegt weit in der Zukunft");
+
+        server.dropConnection();
+        assertEquals(Set.of(a, b), subscribed(server.awaitMessage(TIMEOUT)));
+        assertEquals(2, server.connections());
+        assertTrue(refresh.due.get(a) <= now + 30_000L + 1_000L, "Refresh nach Abbruch vorgezogen");
+        assertTrue(PushChannel.covers(a));
+
+        // Nach dem Reconnect kommen Events wieder an
+        server.send("{\"type\":\"invalidate\",\"domain\":\"" + DOMAIN + "\",\"uuid\":\"" + a + "\"}");
+        assertEquals(a, invalidated.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void untrackSendsUnsubscribe() throws Exception {
+        UUID a = UUID.randomUUID();
+        PushChannel.track(a);
+        PushChannel.start(server.uri());
+        assertEquals(Set.of(a), subscribed(server.awaitMessage(TIMEOUT)));
+
+        PushChannel.untrack(a);
+
+        JsonObject msg = JsonParser.parseString(server.awaitMessage(TIMEOUT)).getAsJsonObject();
+        assertEquals("unsubscribe", msg.get("op").getAsString());
+        assertEquals(a.toString(), msg.getAsJsonArray("uuids").get(0).getAsString());
+        assertFalse(PushChannel.covers(a));
+    }
+
+    /** UUIDs einer "subscribe"-Nachricht. */
+    private static Set<UUID> subscribed(String text) {
+        assertNotNull(text, "keine Nachricht vom Client");
+        JsonObject msg = JsonParser.parseString(text).getAsJsonObject();
+        assertEquals("subscribe", msg.get("op").getAsString());
+        Set<UUID> out = new HashSet<>();
+        msg.getAsJsonArray("uuids").forEach(e -> out.add(UUID.fromString(e.getAsString())));
+        return out;
+    }
+}